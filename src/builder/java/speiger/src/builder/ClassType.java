@@ -122,6 +122,11 @@ public enum ClassType
 		return this == BYTE || this == SHORT || this == CHAR;
 	}
 	
+	public boolean isDirectIndexable()
+	{
+		return this == BYTE || this == SHORT || this == CHAR;
+	}
+	
 	public String getComparableValue()
 	{
 		switch(this)
@@ -19,11 +19,12 @@ public class ListModule extends BaseModule
 	public static final FunctionDependency LINKED_LIST = MODULE.createDependency("LinkedList").addKeyDependency(IMPLEMENTATION);
 	public static final FunctionDependency IMMUTABLE_LIST = MODULE.createDependency("ImmutableList").addKeyDependency(IMPLEMENTATION);
 	public static final FunctionDependency COPY_ON_WRITE_LIST = MODULE.createDependency("CopyOnWriteList").addKeyDependency(IMPLEMENTATION);
+	public static final FunctionDependency BIT_LIST = MODULE.createDependency("BitList").addKeyDependency(IMPLEMENTATION);
 	
 	@Override
 	public String getModuleName() { return "List"; }
 	@Override
-	public List<IDependency> getDependencies(ClassType keyType, ClassType valueType) { return Arrays.asList(MODULE, IMPLEMENTATION, WRAPPERS, ARRAY_LIST, LINKED_LIST, IMMUTABLE_LIST, COPY_ON_WRITE_LIST); }
+	public List<IDependency> getDependencies(ClassType keyType, ClassType valueType) { return Arrays.asList(MODULE, IMPLEMENTATION, WRAPPERS, ARRAY_LIST, LINKED_LIST, IMMUTABLE_LIST, COPY_ON_WRITE_LIST, BIT_LIST); }
 	@Override
 	protected void loadVariables() {}
 	@Override
@@ -34,6 +35,7 @@ public class ListModule extends BaseModule
 		if(LINKED_LIST.isEnabled()) addKeyFlag("LINKED_LIST_FEATURE");
 		if(IMMUTABLE_LIST.isEnabled()) addKeyFlag("IMMUTABLE_LIST_FEATURE");
 		if(COPY_ON_WRITE_LIST.isEnabled()) addKeyFlag("COPY_ON_WRITE_LIST_FEATURE");
+		if(BIT_LIST.isEnabled()) addKeyFlag("BIT_LIST_FEATURE");
 	}
 	
 	@Override
@@ -44,6 +46,7 @@ public class ListModule extends BaseModule
 		if(!LINKED_LIST.isEnabled()) addBlockedFiles("LinkedList");
 		if(!IMMUTABLE_LIST.isEnabled()) addBlockedFiles("ImmutableList");
 		if(!COPY_ON_WRITE_LIST.isEnabled()) addBlockedFiles("CopyOnWriteList");
+		if(!BIT_LIST.isEnabled() || keyType != ClassType.BOOLEAN) addBlockedFiles("BitList");
 		if(!MODULE.isEnabled()) addBlockedFiles("List", "AbstractList");
 		
 		
@@ -86,6 +89,7 @@ public class ListModule extends BaseModule
 		//Implementation Classes
 		addClassMapper("ARRAY_LIST", "ArrayList");
 		addAbstractMapper("COPY_ON_WRITE_LIST", "CopyOnWrite%sArrayList");
+		addClassMapper("BIT_LIST", "BitList");
 		addClassMapper("LINKED_LIST", "LinkedList");
 		addAbstractMapper("IMMUTABLE_LIST", "Immutable%sList");
 		
@@ -25,20 +25,37 @@ public class MapModule extends BaseModule
 	public static final FunctionDependency SORTED_MAP = MODULE.createDependency("SortedMap").addKeyDependency(SetModule.SORTED_SET).addOptionalTypeDependency(SetModule.SORTED_SET, ClassType.OBJECT, true);
 
 	public static final FunctionDependency ARRAY_MAP = MODULE.createDependency("ArrayMap").addEntryDependency(ORDERED_MAP).addEntryDependency(IMPLEMENTATION);
+	public static final FunctionDependency ADAPTIVE_ARRAY_MAP = MODULE.createDependency("AdaptiveArrayMap").addEntryDependency(ARRAY_MAP);
 	public static final FunctionDependency IMMUTABLE_MAP = MODULE.createDependency("ImmutableMap").addEntryDependency(IMPLEMENTATION);
+	public static final FunctionDependency IMMUTABLE_PERFECT_MAP = MODULE.createDependency("ImmutablePerfectHashMap").addEntryDependency(IMPLEMENTATION);
+	public static final FunctionDependency PERSISTENT_MAP = MODULE.createDependency("PersistentHashMap").addEntryDependency(IMPLEMENTATION);
 
 	public static final FunctionDependency HASH_MAP = MODULE.createDependency("HashMap").addEntryDependency(IMPLEMENTATION);
+	public static final FunctionDependency SWISS_MAP = MODULE.createDependency("SwissHashMap").addEntryDependency(IMPLEMENTATION);
+	public static final FunctionDependency ROBIN_HOOD_MAP = MODULE.createDependency("RobinHoodHashMap").addEntryDependency(HASH_MAP);
+	public static final FunctionDependency INCREMENTAL_MAP = MODULE.createDependency("IncrementalHashMap").addEntryDependency(IMPLEMENTATION);
+	public static final FunctionDependency BIG_MAP = MODULE.createDependency("BigHashMap").addEntryDependency(IMPLEMENTATION);
+	public static final FunctionDependency OFF_HEAP_MAP = MODULE.createDependency("OffHeapHashMap").addEntryDependency(IMPLEMENTATION);
 	public static final FunctionDependency LINKED_MAP = MODULE.createDependency("LinkedHashMap").addEntryDependency(HASH_MAP).addEntryDependency(ORDERED_MAP);
+	public static final FunctionDependency LRU_MAP = MODULE.createDependency("LRUHashMap").addEntryDependency(LINKED_MAP);
+	public static final FunctionDependency EXPIRING_MAP = MODULE.createDependency("ExpiringHashMap").addEntryDependency(HASH_MAP);
+	public static final FunctionDependency COMPACT_MAP = MODULE.createDependency("CompactHashMap").addEntryDependency(ORDERED_MAP).addEntryDependency(IMPLEMENTATION);
 	
 	public static final FunctionDependency CUSTOM_MAP = MODULE.createDependency("CustomHashMap").addEntryDependency(IMPLEMENTATION).addKeyDependency(CollectionModule.STRATEGY);
 	public static final FunctionDependency LINKED_CUSTOM_MAP = MODULE.createDependency("LinkedCustomHashMap").addEntryDependency(CUSTOM_MAP).addEntryDependency(ORDERED_MAP);
 
 	public static final FunctionDependency ENUM_MAP = MODULE.createDependency("EnumMap").addEntryDependency(IMPLEMENTATION);
 	public static final FunctionDependency LINKED_ENUM_MAP = MODULE.createDependency("LinkedEnumMap").addEntryDependency(ENUM_MAP).addEntryDependency(ORDERED_MAP);
+	public static final FunctionDependency DIRECT_MAP = MODULE.createDependency("DirectMap").addEntryDependency(IMPLEMENTATION);
 	
 	public static final FunctionDependency CONCURRENT_MAP = MODULE.createDependency("ConcurrentMap").addEntryDependency(IMPLEMENTATION);
+	public static final FunctionDependency NON_BLOCKING_MAP = MODULE.createDependency("NonBlockingMap").addEntryDependency(CONCURRENT_MAP);
+	public static final FunctionDependency COUNTER_MAP = MODULE.createDependency("ConcurrentCounterMap").addEntryDependency(CONCURRENT_MAP);
+	public static final FunctionDependency TINY_LFU_MAP = MODULE.createDependency("ConcurrentTinyLFUMap").addEntryDependency(CONCURRENT_MAP);
+	public static final FunctionDependency COPY_ON_WRITE_MAP = MODULE.createDependency("CopyOnWriteHashMap").addEntryDependency(CONCURRENT_MAP).addEntryDependency(HASH_MAP);
 	public static final FunctionDependency AVL_TREE_MAP = MODULE.createDependency("AVLTreeMap").addEntryDependency(SORTED_MAP).addEntryDependency(IMPLEMENTATION);
 	public static final FunctionDependency RB_TREE_MAP = MODULE.createDependency("RBTreeMap").addEntryDependency(SORTED_MAP).addEntryDependency(IMPLEMENTATION);
+	public static final FunctionDependency IMMUTABLE_TREE_MAP = MODULE.createDependency("ImmutableStaticTreeMap").addEntryDependency(SORTED_MAP).addEntryDependency(IMPLEMENTATION);
 	
 	@Override
 	public String getModuleName() { return "Map"; }
@@ -50,8 +67,9 @@ public class MapModule extends BaseModule
 	public boolean isModuleValid(ClassType keyType, ClassType valueType) { return keyType != ClassType.BOOLEAN; }
 	@Override
 	public List<IDependency> getDependencies(ClassType keyType, ClassType valueType) {
-		List<IDependency> dependencies = new ArrayList<>(Arrays.asList(MODULE, ORDERED_MAP, SORTED_MAP, IMPLEMENTATION, WRAPPERS, ARRAY_MAP, IMMUTABLE_MAP, HASH_MAP, LINKED_MAP, CUSTOM_MAP, LINKED_CUSTOM_MAP, CONCURRENT_MAP, AVL_TREE_MAP, RB_TREE_MAP));
+		List<IDependency> dependencies = new ArrayList<>(Arrays.asList(MODULE, ORDERED_MAP, SORTED_MAP, IMPLEMENTATION, WRAPPERS, ARRAY_MAP, ADAPTIVE_ARRAY_MAP, IMMUTABLE_MAP, IMMUTABLE_PERFECT_MAP, PERSISTENT_MAP, HASH_MAP, SWISS_MAP, ROBIN_HOOD_MAP, INCREMENTAL_MAP, BIG_MAP, OFF_HEAP_MAP, LINKED_MAP, LRU_MAP, EXPIRING_MAP, COMPACT_MAP, CUSTOM_MAP, LINKED_CUSTOM_MAP, CONCURRENT_MAP, NON_BLOCKING_MAP, COUNTER_MAP, TINY_LFU_MAP, COPY_ON_WRITE_MAP, AVL_TREE_MAP, RB_TREE_MAP, IMMUTABLE_TREE_MAP));
 		if(keyType == ClassType.OBJECT) dependencies.addAll(Arrays.asList(ENUM_MAP, LINKED_ENUM_MAP));
+		if(keyType.isDirectIndexable()) dependencies.add(DIRECT_MAP);
 		return dependencies;
 	}
 	
@@ -62,19 +80,36 @@ public class MapModule extends BaseModule
 		if(WRAPPERS.isEnabled()) addFlag("MAPS_FEATURE");
 		if(ORDERED_MAP.isEnabled()) addFlag("ORDERED_MAP_FEATURE");
 		if(ARRAY_MAP.isEnabled()) addFlag("ARRAY_MAP_FEATURE");
+		if(ADAPTIVE_ARRAY_MAP.isEnabled()) addFlag("ADAPTIVE_ARRAY_MAP_FEATURE");
 		if(LINKED_MAP.isEnabled()) addFlag("LINKED_MAP_FEATURE");
+		if(LRU_MAP.isEnabled()) addFlag("LRU_MAP_FEATURE");
+		if(EXPIRING_MAP.isEnabled()) addFlag("EXPIRING_MAP_FEATURE");
+		if(COMPACT_MAP.isEnabled()) addFlag("COMPACT_MAP_FEATURE");
 		if(LINKED_CUSTOM_MAP.isEnabled()) addFlag("LINKED_CUSTOM_MAP_FEATURE");
 		if(LINKED_ENUM_MAP.isEnabled()) addFlag("LINKED_ENUM_MAP_FEATURE");
 		
 		if(SORTED_MAP.isEnabled()) addFlag("SORTED_MAP_FEATURE");
 		if(AVL_TREE_MAP.isEnabled()) addFlag("AVL_TREE_MAP_FEATURE");
 		if(RB_TREE_MAP.isEnabled()) addFlag("RB_TREE_MAP_FEATURE");
+		if(IMMUTABLE_TREE_MAP.isEnabled()) addFlag("IMMUTABLE_TREE_MAP_FEATURE");
 		
 		if(CONCURRENT_MAP.isEnabled()) addFlag("CONCURRENT_MAP_FEATURE");
+		if(NON_BLOCKING_MAP.isEnabled()) addFlag("NON_BLOCKING_MAP_FEATURE");
+		if(COUNTER_MAP.isEnabled()) addFlag("COUNTER_MAP_FEATURE");
+		if(TINY_LFU_MAP.isEnabled()) addFlag("TINY_LFU_MAP_FEATURE");
+		if(COPY_ON_WRITE_MAP.isEnabled()) addFlag("COPY_ON_WRITE_MAP_FEATURE");
 		if(IMMUTABLE_MAP.isEnabled()) addFlag("IMMUTABLE_MAP_FEATURE");
+		if(IMMUTABLE_PERFECT_MAP.isEnabled()) addFlag("IMMUTABLE_PERFECT_MAP_FEATURE");
+		if(PERSISTENT_MAP.isEnabled()) addFlag("PERSISTENT_MAP_FEATURE");
 		if(HASH_MAP.isEnabled()) addFlag("MAP_FEATURE");
+		if(SWISS_MAP.isEnabled()) addFlag("SWISS_MAP_FEATURE");
+		if(ROBIN_HOOD_MAP.isEnabled()) addFlag("ROBIN_HOOD_MAP_FEATURE");
+		if(INCREMENTAL_MAP.isEnabled()) addFlag("INCREMENTAL_MAP_FEATURE");
+		if(BIG_MAP.isEnabled()) addFlag("BIG_MAP_FEATURE");
+		if(OFF_HEAP_MAP.isEnabled()) addFlag("OFF_HEAP_MAP_FEATURE");
 		if(CUSTOM_MAP.isEnabled()) addFlag("CUSTOM_MAP_FEATURE");
 		if(ENUM_MAP.isEnabled()) addFlag("ENUM_MAP_FEATURE");
+		if(DIRECT_MAP.isEnabled()) addFlag("DIRECT_MAP_FEATURE");
 	}
 	
 	@Override
@@ -83,26 +118,43 @@ public class MapModule extends BaseModule
 		if(!MODULE.isEnabled()) addBlockedFiles("Map", "AbstractMap");
 		if(!WRAPPERS.isEnabled()) addBlockedFiles("Maps");
 		if(!IMMUTABLE_MAP.isEnabled()) addBlockedFiles("ImmutableOpenHashMap");
+		if(!IMMUTABLE_PERFECT_MAP.isEnabled()) addBlockedFiles("ImmutablePerfectHashMap");
+		if(!PERSISTENT_MAP.isEnabled()) addBlockedFiles("PersistentHashMap");
 		if(!CONCURRENT_MAP.isEnabled()) addBlockedFiles("ConcurrentMap", "ConcurrentOpenHashMap");
+		if(!NON_BLOCKING_MAP.isEnabled()) addBlockedFiles("NonBlockingOpenHashMap");
+		if(!COUNTER_MAP.isEnabled() || (valueType != ClassType.INT && valueType != ClassType.LONG)) addBlockedFiles("ConcurrentCounterMap");
+		if(!TINY_LFU_MAP.isEnabled()) addBlockedFiles("ConcurrentTinyLFUMap");
+		if(!COPY_ON_WRITE_MAP.isEnabled()) addBlockedFiles("CopyOnWriteOpenHashMap");
 		if(!ORDERED_MAP.isEnabled()) addBlockedFiles("OrderedMap");
 		if(!HASH_MAP.isEnabled()) addBlockedFiles("OpenHashMap");
+		if(!SWISS_MAP.isEnabled()) addBlockedFiles("SwissOpenHashMap");
+		if(!ROBIN_HOOD_MAP.isEnabled()) addBlockedFiles("RobinHoodOpenHashMap");
+		if(!INCREMENTAL_MAP.isEnabled()) addBlockedFiles("IncrementalOpenHashMap");
+		if(!BIG_MAP.isEnabled()) addBlockedFiles("BigOpenHashMap");
+		if(!OFF_HEAP_MAP.isEnabled() || keyType.isObject() || valueType.isObject()) addBlockedFiles("OffHeapOpenHashMap");
 		if(!LINKED_MAP.isEnabled()) addBlockedFiles("LinkedOpenHashMap");
+		if(!LRU_MAP.isEnabled()) addBlockedFiles("LRUOpenHashMap");
+		if(!EXPIRING_MAP.isEnabled()) addBlockedFiles("ExpiringOpenHashMap");
+		if(!COMPACT_MAP.isEnabled()) addBlockedFiles("CompactOpenHashMap");
 		if(!CUSTOM_MAP.isEnabled()) addBlockedFiles("OpenCustomHashMap");
 		if(!LINKED_CUSTOM_MAP.isEnabled()) addBlockedFiles("LinkedOpenCustomHashMap");
 		if(!ENUM_MAP.isEnabled()) addBlockedFiles("EnumMap");
 		if(!LINKED_ENUM_MAP.isEnabled()) addBlockedFiles("LinkedEnumMap");
+		if(!DIRECT_MAP.isEnabled() || !keyType.isDirectIndexable()) addBlockedFiles("DirectMap");
 		if(!ARRAY_MAP.isEnabled()) addBlockedFiles("ArrayMap");
+		if(!ADAPTIVE_ARRAY_MAP.isEnabled()) addBlockedFiles("AdaptiveArrayMap");
 		if(!SORTED_MAP.isEnabled()) addBlockedFiles("SortedMap", "NavigableMap");
 		if(!AVL_TREE_MAP.isEnabled()) addBlockedFiles("AVLTreeMap");
 		if(!RB_TREE_MAP.isEnabled()) addBlockedFiles("RBTreeMap");
+		if(!IMMUTABLE_TREE_MAP.isEnabled()) addBlockedFiles("ImmutableStaticTreeMap");
 		
 		if(keyType == ClassType.BOOLEAN)
 		{
 			//Main Classes
-			addBlockedFiles("SortedMap", "NavigableMap", "RBTreeMap", "AVLTreeMap");
-			addBlockedFiles("OrderedMap", "ArrayMap", "LinkedOpenHashMap", "LinkedOpenCustomHashMap");
-			addBlockedFiles("ConcurrentMap", "ConcurrentOpenHashMap");
-			addBlockedFiles("Map", "Maps", "AbstractMap", "ImmutableOpenHashMap", "OpenHashMap", "OpenCustomHashMap");
+			addBlockedFiles("SortedMap", "NavigableMap", "RBTreeMap", "AVLTreeMap", "ImmutableStaticTreeMap");
+			addBlockedFiles("OrderedMap", "ArrayMap", "AdaptiveArrayMap", "LinkedOpenHashMap", "LRUOpenHashMap", "CompactOpenHashMap", "LinkedOpenCustomHashMap");
+			addBlockedFiles("ConcurrentMap", "ConcurrentOpenHashMap", "NonBlockingOpenHashMap", "ConcurrentCounterMap", "ConcurrentTinyLFUMap", "CopyOnWriteOpenHashMap");
+			addBlockedFiles("Map", "Maps", "AbstractMap", "ImmutableOpenHashMap", "ImmutablePerfectHashMap", "PersistentHashMap", "OpenHashMap", "ExpiringOpenHashMap", "SwissOpenHashMap", "RobinHoodOpenHashMap", "IncrementalOpenHashMap", "BigOpenHashMap", "OffHeapOpenHashMap", "OpenCustomHashMap");
 			
 			//Test Classes
 			addBlockedFiles("TestMap", "MapTests", "MapTestSuiteBuilder", "MapConstructorTests", "TestMapGenerator", "SimpleMapTestGenerator", "DerivedMapGenerators", "AbstractMapTester");
@@ -128,20 +180,39 @@ public class MapModule extends BaseModule
 		addEnumRequirement("EnumMap");
 		addEnumRequirement("LinkedEnumMap");
 		addBiRequirement("ConcurrentOpenHashMap");
+		addBiRequirement("NonBlockingOpenHashMap");
+		addBiRequirement("ConcurrentCounterMap");
+		addBiRequirement("ConcurrentTinyLFUMap");
+		addBiRequirement("CopyOnWriteOpenHashMap");
 		addBiRequirement("ImmutableOpenHashMap");
+		addBiRequirement("ImmutablePerfectHashMap");
+		addBiRequirement("PersistentHashMap");
 		addBiRequirement("OpenHashMap");
+		addBiRequirement("SwissOpenHashMap");
+		addBiRequirement("RobinHoodOpenHashMap");
+		addBiRequirement("IncrementalOpenHashMap");
+		addBiRequirement("BigOpenHashMap");
+		addBiRequirement("OffHeapOpenHashMap");
 		addBiRequirement("LinkedOpenHashMap");
+		addBiRequirement("LRUOpenHashMap");
+		addBiRequirement("ExpiringOpenHashMap");
+		addBiRequirement("CompactOpenHashMap");
 		addBiRequirement("OpenCustomHashMap");
 		addBiRequirement("LinkedOpenCustomHashMap");
 		addBiRequirement("ArrayMap");
+		addBiRequirement("AdaptiveArrayMap");
+		addBiRequirement("DirectMap");
 		addBiRequirement("RBTreeMap");
 		addBiRequirement("AVLTreeMap");
+		addBiRequirement("ImmutableStaticTreeMap");
 		addBiRequirement("Maps");
 		
 		addRemapper("AbstractMap", "Abstract%sMap");
 		addRemapper("EnumMap", "Enum2%sMap");
 		addRemapper("LinkedEnumMap", "LinkedEnum2%sMap");
 		addRemapper("ImmutableOpenHashMap", "Immutable%sOpenHashMap");
+		addRemapper("ImmutablePerfectHashMap", "Immutable%sPerfectHashMap");
+		addRemapper("ImmutableStaticTreeMap", "Immutable%sStaticTreeMap");
 		
 		//Test Classes
 		addBiRequirement("TestMapGenerator");
@@ -240,15 +311,32 @@ public class MapModule extends BaseModule
 	{
 		//Implementation Classes
 		addAbstractBiMapper("IMMUTABLE_HASH_MAP", "Immutable%sOpenHashMap", "2");
+		addAbstractBiMapper("IMMUTABLE_PERFECT_HASH_MAP", "Immutable%sPerfectHashMap", "2");
+		addAbstractBiMapper("IMMUTABLE_STATIC_TREE_MAP", "Immutable%sStaticTreeMap", "2");
 		addBiClassMapper("LINKED_CUSTOM_HASH_MAP", "LinkedOpenCustomHashMap", "2");
 		addBiClassMapper("LINKED_HASH_MAP", "LinkedOpenHashMap", "2");
+		addBiClassMapper("LRU_HASH_MAP", "LRUOpenHashMap", "2");
+		addBiClassMapper("EXPIRING_HASH_MAP", "ExpiringOpenHashMap", "2");
+		addBiClassMapper("COMPACT_HASH_MAP", "CompactOpenHashMap", "2");
 		addBiClassMapper("CUSTOM_HASH_MAP", "OpenCustomHashMap", "2");
 		addBiClassMapper("CONCURRENT_HASH_MAP", "ConcurrentOpenHashMap", "2");
+		addBiClassMapper("NON_BLOCKING_HASH_MAP", "NonBlockingOpenHashMap", "2");
+		addBiClassMapper("CONCURRENT_COUNTER_MAP", "ConcurrentCounterMap", "2");
+		addBiClassMapper("CONCURRENT_TINY_LFU_MAP", "ConcurrentTinyLFUMap", "2");
+		addBiClassMapper("COPY_ON_WRITE_HASH_MAP", "CopyOnWriteOpenHashMap", "2");
+		addBiClassMapper("PERSISTENT_HASH_MAP", "PersistentHashMap", "2");
+		addBiClassMapper("SWISS_HASH_MAP", "SwissOpenHashMap", "2");
+		addBiClassMapper("ROBIN_HOOD_HASH_MAP", "RobinHoodOpenHashMap", "2");
+		addBiClassMapper("INCREMENTAL_HASH_MAP", "IncrementalOpenHashMap", "2");
+		addBiClassMapper("BIG_HASH_MAP", "BigOpenHashMap", "2");
+		addBiClassMapper("OFF_HEAP_HASH_MAP", "OffHeapOpenHashMap", "2");
 		addBiClassMapper("AVL_TREE_MAP", "AVLTreeMap", "2");
 		addBiClassMapper("RB_TREE_MAP", "RBTreeMap", "2");
 		addFunctionValueMappers("LINKED_ENUM_MAP", valueType.isObject() ? "LinkedEnum2ObjectMap" : "LinkedEnum2%sMap");
 		addFunctionValueMappers("ENUM_MAP", valueType.isObject() ? "Enum2ObjectMap" : "Enum2%sMap");
 		addBiClassMapper("HASH_MAP", "OpenHashMap", "2");
+		addBiClassMapper("ADAPTIVE_ARRAY_MAP", "AdaptiveArrayMap", "2");
+		addBiClassMapper("DIRECT_MAP", "DirectMap", "2");
 		addBiClassMapper("ARRAY_MAP", "ArrayMap", "2");
 		
 		//Abstract Classes
@@ -18,13 +18,21 @@ public class SetModule extends BaseModule
 	public static final FunctionDependency ORDERED_SET = MODULE.createDependency("OrderedSet");
 	public static final FunctionDependency SORTED_SET = MODULE.createDependency("SortedSet");
 	public static final FunctionDependency ARRAY_SET = MODULE.createDependency("ArraySet").addKeyDependency(ORDERED_SET).addKeyDependency(IMPLEMENTATION);
+	public static final FunctionDependency ADAPTIVE_ARRAY_SET = MODULE.createDependency("AdaptiveArraySet").addKeyDependency(ARRAY_SET);
 	public static final FunctionDependency IMMUTABLE_SET = MODULE.createDependency("ImmutableSet").addKeyDependency(ORDERED_SET).addKeyDependency(IMPLEMENTATION);
 	public static final FunctionDependency HASH_SET = MODULE.createDependency("HashSet").addKeyDependency(IMPLEMENTATION);
+	public static final FunctionDependency ROBIN_HOOD_SET = MODULE.createDependency("RobinHoodHashSet").addKeyDependency(HASH_SET);
+	public static final FunctionDependency INCREMENTAL_SET = MODULE.createDependency("IncrementalHashSet").addKeyDependency(IMPLEMENTATION);
+	public static final FunctionDependency BIG_SET = MODULE.createDependency("BigHashSet").addKeyDependency(IMPLEMENTATION);
+	public static final FunctionDependency CONCURRENT_SET = MODULE.createDependency("ConcurrentSet").addKeyDependency(IMPLEMENTATION);
+	public static final FunctionDependency COPY_ON_WRITE_SET = MODULE.createDependency("CopyOnWriteHashSet").addKeyDependency(HASH_SET);
 	public static final FunctionDependency LINKED_SET = MODULE.createDependency("LinkedHashSet").addKeyDependency(ORDERED_SET).addKeyDependency(HASH_SET);
 	public static final FunctionDependency CUSTOM_SET = MODULE.createDependency("CustomHashSet").addKeyDependency(IMPLEMENTATION).addKeyDependency(CollectionModule.STRATEGY);
 	public static final FunctionDependency LINKED_CUSTOM_SET = MODULE.createDependency("LinkedCustomHashSet").addKeyDependency(ORDERED_SET).addKeyDependency(CUSTOM_SET);
 	public static final FunctionDependency AVL_TREE_SET = MODULE.createDependency("AVLTreeSet").addKeyDependency(SORTED_SET).addKeyDependency(IMPLEMENTATION);
 	public static final FunctionDependency RB_TREE_SET = MODULE.createDependency("RBTreeSet").addKeyDependency(SORTED_SET).addKeyDependency(IMPLEMENTATION);
+	public static final FunctionDependency ROARING_SET = MODULE.createDependency("RoaringBitmapSet").addKeyDependency(SORTED_SET).addKeyDependency(IMPLEMENTATION);
+	public static final FunctionDependency DIRECT_SET = MODULE.createDependency("DirectSet").addKeyDependency(IMPLEMENTATION);
 	
 	@Override
 	public String getModuleName() { return "Set"; }
@@ -34,7 +42,7 @@ public class SetModule extends BaseModule
 	@Override
 	public boolean isModuleValid(ClassType keyType, ClassType valueType) { return keyType != ClassType.BOOLEAN; }
 	@Override
-	public List<IDependency> getDependencies(ClassType keyType, ClassType valueType) { return Arrays.asList(MODULE, WRAPPERS, ORDERED_SET, SORTED_SET, IMPLEMENTATION, ARRAY_SET, IMMUTABLE_SET, HASH_SET, LINKED_SET, CUSTOM_SET, LINKED_CUSTOM_SET, AVL_TREE_SET, RB_TREE_SET); }
+	public List<IDependency> getDependencies(ClassType keyType, ClassType valueType) { return Arrays.asList(MODULE, WRAPPERS, ORDERED_SET, SORTED_SET, IMPLEMENTATION, ARRAY_SET, ADAPTIVE_ARRAY_SET, IMMUTABLE_SET, HASH_SET, ROBIN_HOOD_SET, INCREMENTAL_SET, BIG_SET, CONCURRENT_SET, COPY_ON_WRITE_SET, LINKED_SET, CUSTOM_SET, LINKED_CUSTOM_SET, AVL_TREE_SET, RB_TREE_SET, ROARING_SET, DIRECT_SET); }
 	
 	@Override
 	protected void loadFlags()
@@ -45,12 +53,20 @@ public class SetModule extends BaseModule
 		if(SORTED_SET.isEnabled()) addFlag("SORTED_SET_FEATURE");
 		if(IMMUTABLE_SET.isEnabled()) addFlag("IMMUTABLE_SET_FEATURE");
 		if(ARRAY_SET.isEnabled()) addFlag("ARRAY_SET_FEATURE");
+		if(ADAPTIVE_ARRAY_SET.isEnabled()) addFlag("ADAPTIVE_ARRAY_SET_FEATURE");
 		if(HASH_SET.isEnabled()) addFlag("HASH_SET_FEATURE");
+		if(ROBIN_HOOD_SET.isEnabled()) addFlag("ROBIN_HOOD_SET_FEATURE");
+		if(INCREMENTAL_SET.isEnabled()) addFlag("INCREMENTAL_SET_FEATURE");
+		if(BIG_SET.isEnabled()) addFlag("BIG_SET_FEATURE");
+		if(CONCURRENT_SET.isEnabled()) addFlag("CONCURRENT_SET_FEATURE");
+		if(COPY_ON_WRITE_SET.isEnabled()) addFlag("COPY_ON_WRITE_SET_FEATURE");
 		if(LINKED_SET.isEnabled()) addFlag("LINKED_SET_FEATURE");
 		if(CUSTOM_SET.isEnabled()) addFlag("CUSTOM_HASH_SET_FEATURE");
 		if(LINKED_CUSTOM_SET.isEnabled()) addFlag("LINKED_CUSTOM_SET_FEATURE");
 		if(AVL_TREE_SET.isEnabled()) addFlag("AVL_TREE_SET_FEATURE");
 		if(RB_TREE_SET.isEnabled()) addFlag("RB_TREE_SET_FEATURE");
+		if(ROARING_SET.isEnabled()) addFlag("ROARING_SET_FEATURE");
+		if(DIRECT_SET.isEnabled()) addFlag("DIRECT_SET_FEATURE");
 	}
 	
 	@Override
@@ -61,20 +77,28 @@ public class SetModule extends BaseModule
 		if(!IMMUTABLE_SET.isEnabled()) addBlockedFiles("ImmutableOpenHashSet");
 		if(!ORDERED_SET.isEnabled()) addBlockedFiles("OrderedSet");
 		if(!HASH_SET.isEnabled()) addBlockedFiles("OpenHashSet");
+		if(!ROBIN_HOOD_SET.isEnabled()) addBlockedFiles("RobinHoodOpenHashSet");
+		if(!INCREMENTAL_SET.isEnabled()) addBlockedFiles("IncrementalOpenHashSet");
+		if(!BIG_SET.isEnabled()) addBlockedFiles("BigOpenHashSet");
+		if(!CONCURRENT_SET.isEnabled()) addBlockedFiles("ConcurrentOpenHashSet");
+		if(!COPY_ON_WRITE_SET.isEnabled()) addBlockedFiles("CopyOnWriteOpenHashSet");
 		if(!LINKED_SET.isEnabled()) addBlockedFiles("LinkedOpenHashSet");
 		if(!CUSTOM_SET.isEnabled()) addBlockedFiles("OpenCustomHashSet");
 		if(!LINKED_CUSTOM_SET.isEnabled()) addBlockedFiles("LinkedOpenCustomHashSet");
 		if(!ARRAY_SET.isEnabled()) addBlockedFiles("ArraySet");
+		if(!ADAPTIVE_ARRAY_SET.isEnabled()) addBlockedFiles("AdaptiveArraySet");
 		if(!SORTED_SET.isEnabled()) addBlockedFiles("SortedSet", "NavigableSet");
 		if(!AVL_TREE_SET.isEnabled()) addBlockedFiles("AVLTreeSet");
 		if(!RB_TREE_SET.isEnabled()) addBlockedFiles("RBTreeSet");
+		if(!ROARING_SET.isEnabled() || keyType != ClassType.INT) addBlockedFiles("RoaringBitmapSet");
+		if(!DIRECT_SET.isEnabled() || !keyType.isDirectIndexable()) addBlockedFiles("DirectSet");
 		
 		if(keyType == ClassType.BOOLEAN)
 		{
 			//Main Classes
 			addBlockedFiles("SortedSet", "NavigableSet", "AVLTreeSet", "RBTreeSet");
-			addBlockedFiles("OrderedSet", "ArraySet", "LinkedOpenHashSet", "LinkedOpenCustomHashSet");
-			addBlockedFiles("Set", "Sets", "AbstractSet", "OpenHashSet", "OpenCustomHashSet", "ImmutableOpenHashSet");
+			addBlockedFiles("OrderedSet", "ArraySet", "AdaptiveArraySet", "LinkedOpenHashSet", "LinkedOpenCustomHashSet");
+			addBlockedFiles("Set", "Sets", "AbstractSet", "OpenHashSet", "RobinHoodOpenHashSet", "IncrementalOpenHashSet", "BigOpenHashSet", "ConcurrentOpenHashSet", "CopyOnWriteOpenHashSet", "OpenCustomHashSet", "ImmutableOpenHashSet");
 			
 			//Test Classes
 			addBlockedFiles("SetTests", "SetTestSuiteBuilder", "TestSetGenerator");
@@ -141,9 +165,17 @@ public class SetModule extends BaseModule
 		addClassMapper("LINKED_HASH_SET", "LinkedOpenHashSet");
 		addAbstractMapper("IMMUTABLE_HASH_SET", "Immutable%sOpenHashSet");
 		addClassMapper("CUSTOM_HASH_SET", "OpenCustomHashSet");
+		addClassMapper("CONCURRENT_HASH_SET", "ConcurrentOpenHashSet");
+		addClassMapper("COPY_ON_WRITE_HASH_SET", "CopyOnWriteOpenHashSet");
+		addClassMapper("ROBIN_HOOD_HASH_SET", "RobinHoodOpenHashSet");
+		addClassMapper("INCREMENTAL_HASH_SET", "IncrementalOpenHashSet");
+		addClassMapper("BIG_HASH_SET", "BigOpenHashSet");
 		addClassMapper("HASH_SET", "OpenHashSet");
 		addClassMapper("RB_TREE_SET", "RBTreeSet");
+		addClassMapper("ROARING_BITMAP_SET", "RoaringBitmapSet");
+		addClassMapper("DIRECT_SET", "DirectSet");
 		addClassMapper("AVL_TREE_SET", "AVLTreeSet");
+		addClassMapper("ADAPTIVE_ARRAY_SET", "AdaptiveArraySet");
 		addClassMapper("ARRAY_SET", "ArraySet");
 		
 		//Abstract Classes
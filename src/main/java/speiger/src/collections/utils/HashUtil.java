@@ -20,6 +20,8 @@ public class HashUtil
 	private static final int INT_PHI = 0x9E3779B9;
 	/** The reciprocal of {@link #INT_PHI} modulo 2<sup>32</sup>. */
 	private static final int INV_INT_PHI = 0x144cbc89;
+	/** 2<sup>64</sup> &middot; &phi;, &phi; = (&#x221A;5 &minus; 1)/2. */
+	private static final long LONG_PHI = 0x9E3779B97F4A7C15L;
 	
 	/** Quickly mixes the bits of an integer.
 	 *
@@ -44,6 +46,19 @@ public class HashUtil
 		return (x ^ x >>> 16) * INV_INT_PHI;
 	}
 	
+	/** Quickly mixes the bits of a long.
+	 *
+	 * <p>Same as {@link #mix(int)} but for 64 bit values, used by HashMaps that address more then 2<sup>31</sup> slots.
+	 *
+	 * @param x a long.
+	 * @return a hash value obtained by mixing the bits of {@code x}.
+	 */
+	public static long mix(final long x) {
+		long h = x * LONG_PHI;
+		h ^= h >>> 32;
+		return h ^ (h >>> 16);
+	}
+	
 	/**
 	 * Function that rounds up to the closest power of 2
 	 * A modified version of https://stackoverflow.com/a/466242
@@ -93,4 +108,14 @@ public class HashUtil
 	public static int arraySize(int size, float loadFactor) {
 		return (int)Math.min(1 << 30, Math.max(2, nextPowerOfTwo((long)Math.ceil(size / loadFactor))));
 	}
+	
+	/**
+	 * Helper function that creates the ideal array size for HashMaps that are not limited to 2<sup>30</sup> slots
+	 * @param size the original amount of elements
+	 * @param loadFactor the load factor
+	 * @return the new array size
+	 */
+	public static long bigArraySize(long size, float loadFactor) {
+		return Math.min(1L << 62, Math.max(2L, nextPowerOfTwo((long)Math.ceil(size / (double)loadFactor))));
+	}
 }
@@ -0,0 +1,180 @@
+package speiger.src.collections.booleans.lists;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+@SuppressWarnings("javadoc")
+public class BooleanBitListTest
+{
+	//Sizes around the 64 bit word boundaries and with partial tail words
+	static final int[] SIZES = {0, 1, 5, 63, 64, 65, 127, 128, 129, 191, 200, 1000};
+	static final int[] BOUNDARIES = {0, 1, 31, 63, 64, 65, 100, 127, 128, 129, 191, 192, 193, 199, 200};
+	
+	protected static boolean[] createValues(Random random, int size)
+	{
+		boolean[] values = new boolean[size];
+		for(int i = 0;i<size;i++) values[i] = random.nextBoolean();
+		return values;
+	}
+	
+	protected static void assertList(boolean[] expected, BooleanBitList list)
+	{
+		Assert.assertEquals(expected.length, list.size());
+		int trueValues = 0;
+		for(int i = 0;i<expected.length;i++) {
+			Assert.assertEquals("Index "+i, expected[i], list.getBoolean(i));
+			if(expected[i]) trueValues++;
+		}
+		Assert.assertEquals(trueValues, list.count(true));
+		Assert.assertEquals(expected.length - trueValues, list.count(false));
+		//Bits past the size have to stay cleared, otherwise they would show up once the list grows
+		BooleanBitList copy = list.copy();
+		copy.size(expected.length + 130);
+		Assert.assertEquals(trueValues, copy.count(true));
+		for(int i = expected.length;i<copy.size();i++) Assert.assertFalse("Index "+i, copy.getBoolean(i));
+	}
+	
+	@Test
+	public void testAnd()
+	{
+		Random random = new Random(42);
+		for(int first : SIZES) {
+			for(int second : SIZES) {
+				boolean[] a = createValues(random, first);
+				boolean[] b = createValues(random, second);
+				BooleanBitList list = new BooleanBitList(a);
+				list.and(new BooleanBitList(b));
+				for(int i = 0;i<first;i++) a[i] &= i < second && b[i];
+				assertList(a, list);
+			}
+		}
+	}
+	
+	@Test
+	public void testOr()
+	{
+		Random random = new Random(43);
+		for(int first : SIZES) {
+			for(int second : SIZES) {
+				boolean[] a = createValues(random, first);
+				boolean[] b = createValues(random, second);
+				BooleanBitList list = new BooleanBitList(a);
+				list.or(new BooleanBitList(b));
+				for(int i = 0;i<first;i++) a[i] |= i < second && b[i];
+				assertList(a, list);
+			}
+		}
+	}
+	
+	@Test
+	public void testXor()
+	{
+		Random random = new Random(44);
+		for(int first : SIZES) {
+			for(int second : SIZES) {
+				boolean[] a = createValues(random, first);
+				boolean[] b = createValues(random, second);
+				BooleanBitList list = new BooleanBitList(a);
+				list.xor(new BooleanBitList(b));
+				for(int i = 0;i<first;i++) a[i] ^= i < second && b[i];
+				assertList(a, list);
+			}
+		}
+	}
+	
+	@Test
+	public void testBulkOperationsAfterShrinking()
+	{
+		Random random = new Random(45);
+		boolean[] a = createValues(random, 100);
+		BooleanBitList list = new BooleanBitList(a);
+		BooleanBitList other = new BooleanBitList(createValues(random, 300));
+		other.size(70);
+		other.flip();
+		list.or(other);
+		list.xor(other);
+		list.and(other);
+		boolean[] expected = new boolean[100];
+		for(int i = 0;i<70;i++) {
+			boolean value = other.getBoolean(i);
+			expected[i] = ((a[i] | value) ^ value) & value;
+		}
+		assertList(expected, list);
+	}
+	
+	@Test
+	public void testFlip()
+	{
+		Random random = new Random(46);
+		for(int size : SIZES) {
+			boolean[] a = createValues(random, size);
+			BooleanBitList list = new BooleanBitList(a);
+			list.flip();
+			for(int i = 0;i<size;i++) a[i] = !a[i];
+			assertList(a, list);
+		}
+	}
+	
+	@Test
+	public void testFlipRange()
+	{
+		Random random = new Random(47);
+		for(int from : BOUNDARIES) {
+			for(int to : BOUNDARIES) {
+				if(from > to) continue;
+				boolean[] a = createValues(random, 200);
+				BooleanBitList list = new BooleanBitList(a);
+				list.flip(from, to);
+				for(int i = from;i<to;i++) a[i] = !a[i];
+				assertList(a, list);
+			}
+		}
+	}
+	
+	@Test
+	public void testFlipRangeOutOfBounds()
+	{
+		BooleanBitList list = new BooleanBitList(new boolean[65]);
+		try {
+			list.flip(0, 66);
+			Assert.fail("flip past the size should fail");
+		}
+		catch(IndexOutOfBoundsException expected) {}
+		try {
+			list.flip(-1, 10);
+			Assert.fail("flip with a negative start should fail");
+		}
+		catch(IndexOutOfBoundsException expected) {}
+		try {
+			list.flip(10, 9);
+			Assert.fail("flip with a reversed range should fail");
+		}
+		catch(IndexOutOfBoundsException expected) {}
+		list.flip(65, 65);
+		assertList(new boolean[65], list);
+	}
+	
+	@Test
+	public void testCountAfterEdits()
+	{
+		Random random = new Random(48);
+		boolean[] a = createValues(random, 300);
+		BooleanBitList list = new BooleanBitList(a);
+		list.removeElements(60, 130);
+		list.add(10, true);
+		list.add(true);
+		boolean[] expected = new boolean[232];
+		int index = 0;
+		for(int i = 0;i<10;i++) expected[index++] = a[i];
+		expected[index++] = true;
+		for(int i = 10;i<60;i++) expected[index++] = a[i];
+		for(int i = 130;i<300;i++) expected[index++] = a[i];
+		expected[index++] = true;
+		assertList(expected, list);
+		list.size(129);
+		assertList(Arrays.copyOf(expected, 129), list);
+	}
+}
\ No newline at end of file
@@ -0,0 +1,90 @@
+package speiger.src.collections.chars.maps;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import speiger.src.collections.bytes.sets.ByteDirectSet;
+import speiger.src.collections.chars.maps.impl.misc.Char2IntDirectMap;
+import speiger.src.collections.shorts.maps.impl.misc.Short2IntDirectMap;
+
+@SuppressWarnings("javadoc")
+public class Char2IntDirectMapTest
+{
+	@Test
+	public void testHighestKey()
+	{
+		Char2IntDirectMap map = new Char2IntDirectMap();
+		Assert.assertFalse(map.containsKey((char)0xFFFF));
+		Assert.assertEquals(0, map.put((char)0xFFFF, 5));
+		Assert.assertEquals(0, map.put((char)0, 1));
+		Assert.assertEquals(0, map.put((char)0x8000, 3));
+		Assert.assertEquals(3, map.size());
+		Assert.assertEquals(5, map.get((char)0xFFFF));
+		Assert.assertEquals(1, map.get((char)0));
+		Assert.assertFalse(map.containsKey((char)0xFFFE));
+		Assert.assertArrayEquals(new char[]{0, 0x8000, 0xFFFF}, map.keySet().toCharArray());
+		Assert.assertEquals(5, map.addTo((char)0xFFFF, 2));
+		Assert.assertEquals(7, map.remove((char)0xFFFF));
+		Assert.assertFalse(map.containsKey((char)0xFFFF));
+		Assert.assertEquals(2, map.size());
+	}
+	
+	@Test
+	public void testTrimKeepsHighestKey()
+	{
+		Char2IntDirectMap map = new Char2IntDirectMap();
+		map.put((char)0xFFFF, 5);
+		map.put((char)10, 1);
+		Assert.assertFalse(map.trim(0));
+		Assert.assertEquals(5, map.get((char)0xFFFF));
+		map.remove((char)0xFFFF);
+		Assert.assertTrue(map.trim(0));
+		Assert.assertEquals(1, map.get((char)10));
+		Assert.assertFalse(map.containsKey((char)0xFFFF));
+		map.put((char)0xFFFF, 6);
+		Assert.assertEquals(6, map.get((char)0xFFFF));
+		map.clearAndTrim(0);
+		Assert.assertTrue(map.isEmpty());
+		Assert.assertFalse(map.containsKey((char)0xFFFF));
+		map.put((char)0xFFFF, 7);
+		Assert.assertEquals(7, map.get((char)0xFFFF));
+	}
+	
+	@Test
+	public void testWholeUniverse()
+	{
+		Char2IntDirectMap map = new Char2IntDirectMap();
+		for(int i = 0;i<Char2IntDirectMap.UNIVERSE;i++) map.put((char)i, i);
+		Assert.assertEquals(Char2IntDirectMap.UNIVERSE, map.size());
+		for(int i = 0;i<Char2IntDirectMap.UNIVERSE;i++) Assert.assertEquals(i, map.get((char)i));
+		char[] keys = map.keySet().toCharArray();
+		for(int i = 0;i<keys.length;i++) Assert.assertEquals(i, keys[i]);
+	}
+	
+	@Test
+	public void testSignedKeyBounds()
+	{
+		Short2IntDirectMap map = new Short2IntDirectMap();
+		map.put(Short.MIN_VALUE, 1);
+		map.put(Short.MAX_VALUE, 2);
+		map.put((short)-1, 3);
+		map.put((short)0, 4);
+		Assert.assertEquals(4, map.size());
+		Assert.assertEquals(1, map.get(Short.MIN_VALUE));
+		Assert.assertEquals(2, map.get(Short.MAX_VALUE));
+		Assert.assertEquals(3, map.get((short)-1));
+		Assert.assertEquals(4, map.get((short)0));
+		Assert.assertFalse(map.containsKey((short)(Short.MIN_VALUE + 1)));
+		ByteDirectSet set = new ByteDirectSet();
+		Assert.assertTrue(set.add(Byte.MIN_VALUE));
+		Assert.assertTrue(set.add(Byte.MAX_VALUE));
+		Assert.assertTrue(set.add((byte)-1));
+		Assert.assertFalse(set.add(Byte.MAX_VALUE));
+		Assert.assertEquals(3, set.size());
+		Assert.assertTrue(set.contains(Byte.MIN_VALUE));
+		Assert.assertTrue(set.contains((byte)-1));
+		Assert.assertFalse(set.contains((byte)0));
+		Assert.assertTrue(set.remove(Byte.MIN_VALUE));
+		Assert.assertFalse(set.contains(Byte.MIN_VALUE));
+	}
+}
\ No newline at end of file
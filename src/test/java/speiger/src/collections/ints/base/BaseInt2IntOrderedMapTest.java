@@ -31,6 +31,18 @@ public abstract class BaseInt2IntOrderedMapTest extends BaseInt2IntMapTest
 		Assert.assertEquals(-2, map.lastIntValue());
 	}
 	
+	@Test
+	public void testPutMoveToFirstSecondEntry()
+	{
+		if(!getValidOrderedMapTests().contains(OrderedMapTests.PUT_MOVE)) return;
+		Int2IntOrderedMap map = createEmptyMap();
+		map.put(1, 1);
+		Assert.assertEquals(0, map.putAndMoveToFirst(2, 2));
+		Assert.assertArrayEquals(new int[]{2, 1}, map.keySet().toIntArray());
+		Assert.assertEquals(0, map.putAndMoveToFirst(0, 3));
+		Assert.assertArrayEquals(new int[]{0, 2, 1}, map.keySet().toIntArray());
+	}
+	
 	@Test
 	public void testMove()
 	{
@@ -57,6 +69,24 @@ public abstract class BaseInt2IntOrderedMapTest extends BaseInt2IntMapTest
 		Assert.assertEquals(0, map.lastIntValue());
 	}
 	
+	@Test
+	public void testMoveFirstToLast()
+	{
+		if(!getValidOrderedMapTests().contains(OrderedMapTests.MOVE)) return;
+		Int2IntOrderedMap map = createMap(TEST_ARRAY, TEST_ARRAY);
+		int[] keys = map.keySet().toIntArray();
+		Assert.assertTrue(map.moveToLast(keys[0]));
+		Assert.assertTrue(map.moveToLast(keys[99]));
+		Assert.assertTrue(map.moveToLast(keys[1]));
+		int[] expected = new int[100];
+		System.arraycopy(keys, 2, expected, 0, 97);
+		expected[97] = keys[0];
+		expected[98] = keys[99];
+		expected[99] = keys[1];
+		Assert.assertArrayEquals(expected, map.keySet().toIntArray());
+		for(int i = 99;i>=0;i--) Assert.assertEquals(expected[i], map.pollLastIntKey());
+	}
+	
 	@Test
 	public void testFirst()
 	{
@@ -0,0 +1,94 @@
+package speiger.src.collections.ints.maps;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import speiger.src.collections.ints.maps.impl.immutable.ImmutableInt2IntStaticTreeMap;
+import speiger.src.collections.ints.maps.impl.tree.Int2IntAVLTreeMap;
+import speiger.src.collections.ints.maps.interfaces.Int2IntMap;
+import speiger.src.collections.ints.maps.interfaces.Int2IntNavigableMap;
+
+@SuppressWarnings("javadoc")
+public class ImmutableInt2IntStaticTreeMapTest
+{
+	//Sizes that leave a partial last block and block counts that are not a power of two
+	static final int[] SIZES = {0, 1, 2, 15, 16, 17, 31, 33, 47, 48, 49, 80, 100, 112, 255, 257, 1000, 1023, 1025};
+	
+	protected static RankedMap create(int size, Int2IntNavigableMap reference)
+	{
+		int[] keys = new int[size];
+		int[] values = new int[size];
+		//Only even keys, so every odd key falls between two entries
+		for(int i = 0;i<size;i++) {
+			keys[i] = (size - i - 1) * 2;
+			values[i] = i;
+			reference.put(keys[i], values[i]);
+		}
+		return new RankedMap(keys, values);
+	}
+	
+	protected static void assertEntry(Int2IntMap.Entry expected, Int2IntMap.Entry entry)
+	{
+		if(expected == null) {
+			Assert.assertNull(entry);
+			return;
+		}
+		Assert.assertNotNull(entry);
+		Assert.assertEquals(expected.getIntKey(), entry.getIntKey());
+		Assert.assertEquals(expected.getIntValue(), entry.getIntValue());
+	}
+	
+	@Test
+	public void testRank()
+	{
+		for(int size : SIZES) {
+			RankedMap map = create(size, new Int2IntAVLTreeMap());
+			for(int key = -3;key<=size * 2 + 2;key++) {
+				int smaller = key < 0 ? 0 : Math.min(size, (key + 1) / 2);
+				int smallerOrEqual = key >= 0 && key < size * 2 && (key & 1) == 0 ? smaller + 1 : smaller;
+				Assert.assertEquals("Size "+size+", Key "+key, smaller, map.rank(key, false));
+				Assert.assertEquals("Size "+size+", Key "+key, smallerOrEqual, map.rank(key, true));
+			}
+			Assert.assertEquals(0, map.rank(Integer.MIN_VALUE, true));
+			Assert.assertEquals(size, map.rank(Integer.MAX_VALUE, true));
+		}
+	}
+	
+	@Test
+	public void testLookups()
+	{
+		for(int size : SIZES) {
+			Int2IntNavigableMap reference = new Int2IntAVLTreeMap();
+			RankedMap map = create(size, reference);
+			Assert.assertEquals(size, map.size());
+			for(int key = -3;key<=size * 2 + 2;key++) {
+				String message = "Size "+size+", Key "+key;
+				Assert.assertEquals(message, reference.containsKey(key), map.containsKey(key));
+				Assert.assertEquals(message, reference.get(key), map.get(key));
+				assertEntry(reference.floorEntry(key), map.floorEntry(key));
+				assertEntry(reference.ceilingEntry(key), map.ceilingEntry(key));
+				assertEntry(reference.lowerEntry(key), map.lowerEntry(key));
+				assertEntry(reference.higherEntry(key), map.higherEntry(key));
+			}
+			if(size == 0) continue;
+			Assert.assertArrayEquals(reference.keySet().toIntArray(), map.keySet().toIntArray());
+			int from = size / 3 * 2 + 1;
+			int to = size * 2 - 5;
+			if(from < to) Assert.assertArrayEquals(reference.subMap(from, to).keySet().toIntArray(), map.subMap(from, to).keySet().toIntArray());
+		}
+	}
+	
+	protected static class RankedMap extends ImmutableInt2IntStaticTreeMap
+	{
+		public RankedMap(int[] keys, int[] values)
+		{
+			super(keys, values);
+		}
+		
+		@Override
+		public int rank(int key, boolean inclusive)
+		{
+			return super.rank(key, inclusive);
+		}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,117 @@
+package speiger.src.collections.ints.maps;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import speiger.src.collections.ints.base.BaseInt2IntOrderedMapTest;
+import speiger.src.collections.ints.lists.IntArrayList;
+import speiger.src.collections.ints.lists.IntList;
+import speiger.src.collections.ints.maps.impl.misc.Int2IntAdaptiveArrayMap;
+import speiger.src.collections.ints.maps.interfaces.Int2IntOrderedMap;
+
+@SuppressWarnings("javadoc")
+public class Int2IntAdaptiveArrayMapTest extends BaseInt2IntOrderedMapTest
+{
+	static final int THRESHOLD = 16;
+	
+	@Override
+	public Int2IntOrderedMap createMap(int[] keys, int[] values)
+	{
+		return new Int2IntAdaptiveArrayMap(keys, values, THRESHOLD);
+	}
+	
+	@Override
+	public Int2IntOrderedMap createEmptyMap()
+	{
+		return new Int2IntAdaptiveArrayMap(THRESHOLD);
+	}
+	
+	protected static void assertMap(IntList expected, Int2IntAdaptiveArrayMap map)
+	{
+		Assert.assertEquals(expected.size(), map.size());
+		Assert.assertArrayEquals(expected.toIntArray(), map.keySet().toIntArray());
+		for(int i = 0,m=expected.size();i<m;i++) {
+			int key = expected.getInt(i);
+			Assert.assertTrue(map.containsKey(key));
+			Assert.assertEquals(key * 3, map.get(key));
+		}
+		for(int key = -50;key<0;key++) Assert.assertFalse(map.containsKey(key));
+	}
+	
+	@Test
+	public void testPromotionAndDemotion()
+	{
+		Int2IntAdaptiveArrayMap map = new Int2IntAdaptiveArrayMap(THRESHOLD);
+		IntList expected = new IntArrayList();
+		for(int i = 0;i<THRESHOLD;i++) {
+			map.put(i, i * 3);
+			expected.add(i);
+		}
+		assertMap(expected, map);
+		Assert.assertFalse(map.isIndexed());
+		//The index is built by the first lookup above the threshold
+		map.put(THRESHOLD, THRESHOLD * 3);
+		expected.add(THRESHOLD);
+		Assert.assertTrue(map.containsKey(THRESHOLD));
+		Assert.assertTrue(map.isIndexed());
+		//Growing well past the threshold rebuilds the index several times
+		for(int i = THRESHOLD+1;i<200;i++) {
+			map.put(i, i * 3);
+			expected.add(i);
+		}
+		Assert.assertTrue(map.isIndexed());
+		assertMap(expected, map);
+		//Reordering and removing shift the arrays, the index has to follow
+		map.putAndMoveToFirst(150, 450);
+		expected.remInt(150);
+		expected.add(0, 150);
+		map.putAndMoveToLast(3, 9);
+		expected.remInt(3);
+		expected.add(3);
+		for(int i = 0;i<200;i+=3) {
+			if(i == 3) continue;
+			Assert.assertEquals(i * 3, map.remove(i));
+			expected.remInt(i);
+		}
+		Assert.assertTrue(map.isIndexed());
+		assertMap(expected, map);
+		//Between half of the threshold and the threshold the index is kept
+		while(expected.size() > THRESHOLD / 2) Assert.assertEquals(expected.getInt(0) * 3, map.remove(expected.removeInt(0)));
+		Assert.assertTrue(map.isIndexed());
+		assertMap(expected, map);
+		Assert.assertEquals(expected.getInt(0) * 3, map.remove(expected.removeInt(0)));
+		Assert.assertFalse(map.isIndexed());
+		assertMap(expected, map);
+		//Growing again promotes the map again
+		for(int i = 1000;expected.size()<=THRESHOLD;i++) {
+			map.put(i, i * 3);
+			expected.add(i);
+		}
+		assertMap(expected, map);
+		Assert.assertTrue(map.isIndexed());
+		Int2IntAdaptiveArrayMap copy = map.copy();
+		Assert.assertTrue(copy.isIndexed());
+		assertMap(expected, copy);
+		map.clear();
+		Assert.assertFalse(map.isIndexed());
+		assertMap(new IntArrayList(), map);
+	}
+	
+	@Test
+	public void testThresholdChanges()
+	{
+		Int2IntAdaptiveArrayMap map = new Int2IntAdaptiveArrayMap(THRESHOLD);
+		IntList expected = new IntArrayList();
+		for(int i = 0;i<10;i++) {
+			map.put(i, i * 3);
+			expected.add(i);
+		}
+		Assert.assertFalse(map.isIndexed());
+		map.setThreshold(4);
+		Assert.assertTrue(map.isIndexed());
+		assertMap(expected, map);
+		map.setThreshold(100);
+		Assert.assertFalse(map.isIndexed());
+		assertMap(expected, map);
+	}
+}
\ No newline at end of file
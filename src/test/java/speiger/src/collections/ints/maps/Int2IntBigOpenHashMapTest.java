@@ -0,0 +1,142 @@
+package speiger.src.collections.ints.maps;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import speiger.src.collections.ints.base.BaseInt2IntMapTest;
+import speiger.src.collections.ints.collections.IntIterator;
+import speiger.src.collections.ints.maps.impl.hash.Int2IntBigOpenHashMap;
+import speiger.src.collections.ints.maps.interfaces.Int2IntMap;
+import speiger.src.collections.ints.sets.IntBigOpenHashSet;
+
+@SuppressWarnings("javadoc")
+public class Int2IntBigOpenHashMapTest extends BaseInt2IntMapTest
+{
+	@Override
+	public Int2IntMap createMap(int[] keys, int[] values)
+	{
+		return new Int2IntBigOpenHashMap(keys, values);
+	}
+	
+	@Override
+	public Int2IntMap createEmptyMap()
+	{
+		return new Int2IntBigOpenHashMap();
+	}
+	
+	protected static void assertSize(long expected, Int2IntBigOpenHashMap map)
+	{
+		Assert.assertEquals(expected, map.size64());
+		Assert.assertEquals(expected, map.size());
+		Assert.assertEquals(expected, map.int2IntEntrySet().size());
+		Assert.assertEquals(expected == 0, map.isEmpty());
+	}
+	
+	@Test
+	public void testSize64()
+	{
+		Int2IntBigOpenHashMap map = new Int2IntBigOpenHashMap(4);
+		assertSize(0, map);
+		for(int i = 0;i<1000;i++) map.put(i, i);
+		//The zero key is stored outside of the table but still counts
+		assertSize(1000, map);
+		map.put(5, 10);
+		map.putIfAbsent(6, 12);
+		map.addTo(7, 1);
+		assertSize(1000, map);
+		map.putIfAbsent(1000, 1);
+		map.addTo(1001, 1);
+		assertSize(1002, map);
+		Assert.assertEquals(0, map.remove(0));
+		map.remove(0);
+		map.remove(5000);
+		Assert.assertFalse(map.remove(1, 5));
+		Assert.assertTrue(map.remove(1, 1));
+		assertSize(1000, map);
+		int removed = 0;
+		for(IntIterator iter = map.keySet().iterator();iter.hasNext();) {
+			if(iter.nextInt() % 3 == 0) {
+				iter.remove();
+				removed++;
+			}
+		}
+		assertSize(1000 - removed, map);
+		Int2IntBigOpenHashMap copy = map.copy();
+		assertSize(1000 - removed, copy);
+		Assert.assertTrue(map.trim(map.size()));
+		assertSize(1000 - removed, map);
+		map.clear();
+		assertSize(0, map);
+		copy.clearAndTrim(0);
+		assertSize(0, copy);
+		copy.put(0, 1);
+		assertSize(1, copy);
+	}
+	
+	@Test
+	public void testSizeIsCapped()
+	{
+		BigMap map = new BigMap();
+		map.put(1, 1);
+		map.setSize(Integer.MAX_VALUE + 5L);
+		Assert.assertEquals(Integer.MAX_VALUE + 5L, map.size64());
+		Assert.assertEquals(Integer.MAX_VALUE, map.size());
+		Assert.assertEquals(Integer.MAX_VALUE, map.int2IntEntrySet().size());
+		Assert.assertFalse(map.isEmpty());
+		map.remove(1);
+		Assert.assertEquals(Integer.MAX_VALUE + 4L, map.size64());
+		Assert.assertEquals(Integer.MAX_VALUE, map.size());
+		BigSet set = new BigSet();
+		set.add(1);
+		set.setSize(Integer.MAX_VALUE + 1L);
+		Assert.assertEquals(Integer.MAX_VALUE + 1L, set.size64());
+		Assert.assertEquals(Integer.MAX_VALUE, set.size());
+		set.remove(1);
+		Assert.assertEquals(Integer.MAX_VALUE, set.size64());
+		Assert.assertEquals(Integer.MAX_VALUE, set.size());
+	}
+	
+	@Test
+	public void testSetSize64()
+	{
+		IntBigOpenHashSet set = new IntBigOpenHashSet(4);
+		Assert.assertEquals(0L, set.size64());
+		for(int i = 0;i<1000;i++) Assert.assertTrue(set.add(i));
+		Assert.assertFalse(set.add(0));
+		Assert.assertFalse(set.add(999));
+		Assert.assertEquals(1000L, set.size64());
+		Assert.assertEquals(1000, set.size());
+		Assert.assertTrue(set.remove(0));
+		Assert.assertFalse(set.remove(0));
+		Assert.assertFalse(set.remove(-5));
+		Assert.assertEquals(999L, set.size64());
+		int removed = 0;
+		for(IntIterator iter = set.iterator();iter.hasNext();) {
+			if(iter.nextInt() % 2 == 0) {
+				iter.remove();
+				removed++;
+			}
+		}
+		Assert.assertEquals(999L - removed, set.size64());
+		Assert.assertEquals(999L - removed, set.copy().size64());
+		set.clear();
+		Assert.assertEquals(0L, set.size64());
+		Assert.assertTrue(set.isEmpty());
+	}
+	
+	protected static class BigMap extends Int2IntBigOpenHashMap
+	{
+		public void setSize(long size)
+		{
+			this.size = size;
+		}
+	}
+	
+	protected static class BigSet extends IntBigOpenHashSet
+	{
+		public void setSize(long size)
+		{
+			this.size = size;
+		}
+	}
+}
\ No newline at end of file
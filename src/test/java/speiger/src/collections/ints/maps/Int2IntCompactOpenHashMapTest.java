@@ -0,0 +1,149 @@
+package speiger.src.collections.ints.maps;
+
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import speiger.src.collections.ints.base.BaseInt2IntOrderedMapTest;
+import speiger.src.collections.ints.maps.impl.hash.Int2IntCompactOpenHashMap;
+import speiger.src.collections.ints.maps.impl.hash.Int2IntLinkedOpenHashMap;
+import speiger.src.collections.ints.maps.interfaces.Int2IntOrderedMap;
+
+@SuppressWarnings("javadoc")
+public class Int2IntCompactOpenHashMapTest extends BaseInt2IntOrderedMapTest
+{
+	@Override
+	public Int2IntOrderedMap createMap(int[] keys, int[] values)
+	{
+		return new Int2IntCompactOpenHashMap(keys, values);
+	}
+	
+	@Override
+	public Int2IntOrderedMap createEmptyMap()
+	{
+		return new Int2IntCompactOpenHashMap();
+	}
+	
+	protected static void assertOrder(Int2IntOrderedMap expected, CompactMap map)
+	{
+		Assert.assertEquals(expected.size(), map.size());
+		Assert.assertArrayEquals(expected.keySet().toIntArray(), map.keySet().toIntArray());
+		Assert.assertArrayEquals(expected.values().toIntArray(), map.values().toIntArray());
+		if(!expected.isEmpty()) {
+			Assert.assertEquals(expected.firstIntKey(), map.firstIntKey());
+			Assert.assertEquals(expected.lastIntKey(), map.lastIntKey());
+		}
+		expected.forEach((K, V) -> Assert.assertEquals(V, map.get(K)));
+		Assert.assertTrue(map.start() >= 0 && map.start() <= map.end() && map.end() <= map.capacity());
+		Assert.assertTrue(map.end() - map.start() >= map.size());
+	}
+	
+	@Test
+	public void testRecenterAndCompact()
+	{
+		CompactMap map = new CompactMap();
+		Int2IntOrderedMap expected = new Int2IntLinkedOpenHashMap();
+		for(int i = 0;i<12;i++) {
+			map.put(i, i);
+			expected.put(i, i);
+		}
+		int indexSize = map.indexSize();
+		//The first entry sits at the start of the dense arrays, so moving to the front has to recenter them
+		Assert.assertEquals(0, map.start());
+		Assert.assertTrue(map.moveToFirst(11));
+		expected.moveToFirst(11);
+		Assert.assertTrue(map.start() > 0);
+		assertOrder(expected, map);
+		//Rotating the last entry to the front walks the entries left until the next recentering
+		for(int i = 0;i<500;i++) {
+			int key = map.lastIntKey();
+			Assert.assertTrue(map.moveToFirst(key));
+			expected.moveToFirst(key);
+			assertOrder(expected, map);
+		}
+		//Rotating the other way walks them right until the dense arrays get compacted
+		for(int i = 0;i<500;i++) {
+			int key = map.firstIntKey();
+			Assert.assertTrue(map.moveToLast(key));
+			expected.moveToLast(key);
+			assertOrder(expected, map);
+		}
+		Assert.assertFalse(map.moveToFirst(100));
+		Assert.assertFalse(map.moveToLast(100));
+		//Moving an entry that is already at the edge is a no-op
+		Assert.assertFalse(map.moveToFirst(map.firstIntKey()));
+		Assert.assertFalse(map.moveToLast(map.lastIntKey()));
+		assertOrder(expected, map);
+		//Reordering a map of constant size must never grow the index
+		Assert.assertEquals(indexSize, map.indexSize());
+	}
+	
+	@Test
+	public void testMovesWithInterleavedRemoves()
+	{
+		Random random = new Random(20);
+		CompactMap map = new CompactMap();
+		Int2IntOrderedMap expected = new Int2IntLinkedOpenHashMap();
+		for(int i = 0;i<20000;i++) {
+			int key = random.nextInt(40);
+			switch(random.nextInt(7)) {
+				case 0:
+					Assert.assertEquals(expected.moveToFirst(key), map.moveToFirst(key));
+					break;
+				case 1:
+					Assert.assertEquals(expected.moveToLast(key), map.moveToLast(key));
+					break;
+				case 2:
+					Assert.assertEquals(expected.putAndMoveToFirst(key, i), map.putAndMoveToFirst(key, i));
+					break;
+				case 3:
+					Assert.assertEquals(expected.putAndMoveToLast(key, i), map.putAndMoveToLast(key, i));
+					break;
+				case 4:
+					Assert.assertEquals(expected.put(key, i), map.put(key, i));
+					break;
+				case 5:
+					Assert.assertEquals(expected.remove(key), map.remove(key));
+					break;
+				default:
+					if(expected.isEmpty()) break;
+					boolean first = random.nextBoolean();
+					Assert.assertEquals(first ? expected.pollFirstIntKey() : expected.pollLastIntKey(), first ? map.pollFirstIntKey() : map.pollLastIntKey());
+					break;
+			}
+			assertOrder(expected, map);
+		}
+		//Removing from the middle leaves holes that the iteration has to skip
+		int[] keys = expected.keySet().toIntArray();
+		for(int i = 1;i<keys.length-1;i+=2) {
+			Assert.assertEquals(expected.remove(keys[i]), map.remove(keys[i]));
+		}
+		assertOrder(expected, map);
+		Int2IntCompactOpenHashMap copy = map.copy();
+		Assert.assertArrayEquals(expected.keySet().toIntArray(), copy.keySet().toIntArray());
+	}
+	
+	protected static class CompactMap extends Int2IntCompactOpenHashMap
+	{
+		public int start()
+		{
+			return start;
+		}
+		
+		public int end()
+		{
+			return end;
+		}
+		
+		public int capacity()
+		{
+			return keys.length;
+		}
+		
+		public int indexSize()
+		{
+			return indices.length;
+		}
+	}
+}
\ No newline at end of file
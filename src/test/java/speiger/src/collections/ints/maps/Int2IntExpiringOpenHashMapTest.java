@@ -0,0 +1,213 @@
+package speiger.src.collections.ints.maps;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import speiger.src.collections.ints.base.BaseInt2IntMapTest;
+import speiger.src.collections.ints.lists.IntArrayList;
+import speiger.src.collections.ints.lists.IntList;
+import speiger.src.collections.ints.maps.impl.hash.Int2IntExpiringOpenHashMap;
+import speiger.src.collections.ints.maps.interfaces.Int2IntMap;
+import speiger.src.collections.utils.HashUtil;
+
+@SuppressWarnings("javadoc")
+public class Int2IntExpiringOpenHashMapTest extends BaseInt2IntMapTest
+{
+	static final long DAY = TimeUnit.DAYS.toNanos(1L);
+	//One duration per wheel level: below a tick, seconds, minutes, hours, days and beyond the last level
+	static final long[] DURATIONS = {1000L, 1L << 33, 1L << 40, 1L << 45, 1L << 48, 1L << 52};
+	
+	@Override
+	public Int2IntMap createMap(int[] keys, int[] values)
+	{
+		return new Int2IntExpiringOpenHashMap(keys, values, DAY, 0L);
+	}
+	
+	@Override
+	public Int2IntMap createEmptyMap()
+	{
+		return new Int2IntExpiringOpenHashMap(DAY, 0L);
+	}
+	
+	protected static ClockMap createClockMap(long expireAfterWrite, long expireAfterAccess, IntList expired)
+	{
+		return new ClockMap(expireAfterWrite, expireAfterAccess, expired);
+	}
+	
+	@Test
+	public void testExpiresThroughEveryWheelLevel()
+	{
+		for(long duration : DURATIONS) {
+			IntList expired = new IntArrayList();
+			ClockMap map = createClockMap(duration, 0L, expired);
+			long start = 12345L;
+			long half = duration / 2;
+			map.now = start;
+			map.put(1, 10);
+			map.now = start + half;
+			map.put(2, 20);
+			for(int i = 1;i<8;i++) {
+				map.cleanUp(start + (duration / 8) * i);
+				Assert.assertEquals("Duration "+duration, 2, map.size());
+			}
+			map.cleanUp(start + duration - 1);
+			Assert.assertEquals("Duration "+duration, 2, map.size());
+			map.cleanUp(start + duration);
+			Assert.assertEquals("Duration "+duration, 1, map.size());
+			Assert.assertArrayEquals("Duration "+duration, new int[]{1, 10}, expired.toIntArray());
+			map.cleanUp(start + half + duration - 1);
+			Assert.assertEquals("Duration "+duration, 1, map.size());
+			map.cleanUp(start + half + duration);
+			Assert.assertTrue("Duration "+duration, map.isEmpty());
+			Assert.assertArrayEquals("Duration "+duration, new int[]{1, 10, 2, 20}, expired.toIntArray());
+		}
+	}
+	
+	@Test
+	public void testExpiresAfterSingleJump()
+	{
+		for(long duration : DURATIONS) {
+			IntList expired = new IntArrayList();
+			ClockMap map = createClockMap(duration, 0L, expired);
+			for(int i = 0;i<100;i++) {
+				map.now = i * (duration / 100);
+				map.put(i, -i);
+			}
+			map.cleanUp(duration * 2);
+			Assert.assertTrue("Duration "+duration, map.isEmpty());
+			Assert.assertEquals("Duration "+duration, 200, expired.size());
+		}
+	}
+	
+	@Test
+	public void testCleanUpRemovesOnlyDueEntries()
+	{
+		for(long duration : DURATIONS) {
+			IntList expired = new IntArrayList();
+			ClockMap map = createClockMap(duration, 0L, expired);
+			long step = Math.max(duration / 64, 1L);
+			for(int i = 0;i<64;i++) {
+				map.now = i * step;
+				map.put(i, i);
+			}
+			map.cleanUp(duration + 31 * step);
+			Assert.assertEquals("Duration "+duration, 32, map.size());
+			Assert.assertEquals("Duration "+duration, 64, expired.size());
+			for(int i = 0;i<32;i++) Assert.assertFalse("Duration "+duration, map.containsKey(i));
+			map.now = duration + 31 * step;
+			for(int i = 32;i<64;i++) Assert.assertEquals("Duration "+duration, i, map.get(i));
+		}
+	}
+	
+	@Test
+	public void testUpdateDoesNotRefreshTimeToLive()
+	{
+		IntList expired = new IntArrayList();
+		ClockMap map = createClockMap(100L, 0L, expired);
+		map.put(1, 1);
+		map.now = 50L;
+		Assert.assertEquals(1, map.put(1, 2));
+		Assert.assertEquals(2, map.addTo(1, 5));
+		Assert.assertEquals(7, map.get(1));
+		map.now = 99L;
+		Assert.assertEquals(7, map.get(1));
+		map.now = 100L;
+		Assert.assertEquals(-1, map.getOrDefault(1, -1));
+		Assert.assertArrayEquals(new int[]{1, 7}, expired.toIntArray());
+		Assert.assertTrue(map.isEmpty());
+	}
+	
+	@Test
+	public void testTimeToIdleIsRefreshedByAccess()
+	{
+		IntList expired = new IntArrayList();
+		ClockMap map = createClockMap(0L, 100L, expired);
+		map.put(1, 1);
+		map.put(2, 2);
+		for(long time = 90L;time<1000L;time += 90L) {
+			map.now = time;
+			Assert.assertTrue(map.containsKey(1));
+			map.cleanUp(time);
+		}
+		Assert.assertArrayEquals(new int[]{2, 2}, expired.toIntArray());
+		map.cleanUp(map.now + 99L);
+		Assert.assertEquals(1, map.size());
+		map.cleanUp(map.now + 100L);
+		Assert.assertTrue(map.isEmpty());
+		Assert.assertArrayEquals(new int[]{2, 2, 1, 1}, expired.toIntArray());
+	}
+	
+	@Test
+	public void testTimeToLiveCapsTimeToIdle()
+	{
+		IntList expired = new IntArrayList();
+		ClockMap map = createClockMap(1000L, 100L, expired);
+		map.put(1, 1);
+		map.put(2, 2);
+		for(long time = 90L;time<1000L;time += 90L) {
+			map.now = time;
+			Assert.assertEquals(1, map.get(1));
+			map.cleanUp(time);
+		}
+		Assert.assertArrayEquals(new int[]{2, 2}, expired.toIntArray());
+		map.cleanUp(999L);
+		Assert.assertEquals(1, map.size());
+		map.cleanUp(1000L);
+		Assert.assertTrue(map.isEmpty());
+		Assert.assertArrayEquals(new int[]{2, 2, 1, 1}, expired.toIntArray());
+	}
+	
+	@Test
+	public void testLazyExpiration()
+	{
+		IntList expired = new IntArrayList();
+		ClockMap map = createClockMap(100L, 0L, expired);
+		map.put(1, 5);
+		map.now = 100L;
+		Assert.assertEquals(1, map.size());
+		Assert.assertFalse(map.containsKey(1));
+		Assert.assertEquals(0, map.get(1));
+		Assert.assertEquals(0, map.remove(1));
+		Assert.assertArrayEquals(new int[]{1, 5}, expired.toIntArray());
+		Assert.assertEquals(0, map.put(1, 6));
+		Assert.assertEquals(6, map.get(1));
+	}
+	
+	@Test
+	public void testDeadlinesSurviveRehash()
+	{
+		IntList expired = new IntArrayList();
+		ClockMap map = createClockMap(1L << 40, 0L, expired);
+		for(int i = 0;i<1000;i++) {
+			map.now = i * (1L << 30);
+			map.put(i, i);
+		}
+		map.cleanUp((1L << 40) + 499L * (1L << 30));
+		Assert.assertEquals(500, map.size());
+		Assert.assertEquals(1000, expired.size());
+		for(int i = 0;i<500;i++) Assert.assertFalse(map.containsKey(i));
+		map.cleanUp((1L << 40) + 999L * (1L << 30));
+		Assert.assertTrue(map.isEmpty());
+	}
+	
+	public static class ClockMap extends Int2IntExpiringOpenHashMap
+	{
+		long now;
+	
+		public ClockMap(long expireAfterWrite, long expireAfterAccess, IntList expired)
+		{
+			super(HashUtil.DEFAULT_MIN_CAPACITY, HashUtil.DEFAULT_LOAD_FACTOR, expireAfterWrite, expireAfterAccess, (K, V) -> {
+				expired.add(K);
+				expired.add(V);
+			});
+		}
+	
+		@Override
+		protected long currentTime()
+		{
+			return now;
+		}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,128 @@
+package speiger.src.collections.ints.maps;
+
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import speiger.src.collections.ints.maps.impl.immutable.ImmutableInt2IntPerfectHashMap;
+import speiger.src.collections.longs.maps.impl.immutable.ImmutableLong2IntPerfectHashMap;
+import speiger.src.collections.objects.maps.impl.immutable.ImmutableObject2IntPerfectHashMap;
+
+@SuppressWarnings("javadoc")
+public class Int2IntImmutablePerfectHashMapTest
+{
+	@Test
+	public void testLookups()
+	{
+		Random random = new Random(11);
+		int[] keys = new int[10000];
+		int[] values = new int[keys.length];
+		for(int i = 0;i<keys.length;i++) {
+			keys[i] = random.nextInt();
+			values[i] = i;
+		}
+		ImmutableInt2IntPerfectHashMap map = new ImmutableInt2IntPerfectHashMap(keys, values);
+		Assert.assertEquals(keys.length, map.size());
+		for(int i = 0;i<keys.length;i++) Assert.assertEquals(i, map.get(keys[i]));
+		for(int i = 0;i<1000;i++) {
+			int key = random.nextInt();
+			if(!map.containsKey(key)) Assert.assertEquals(map.getDefaultReturnValue(), map.get(key));
+		}
+	}
+	
+	@Test
+	public void testLongKeysWithEqualHalves()
+	{
+		//Every one of these keys has a Long.hashCode of 0, only a 64 bit mix can tell them apart
+		long[] keys = new long[5000];
+		int[] values = new int[keys.length];
+		for(int i = 0;i<keys.length;i++) {
+			keys[i] = (i + 1L) * ((1L << 32) + 1L);
+			values[i] = i;
+		}
+		PerfectLongMap map = new PerfectLongMap(keys, values);
+		Assert.assertEquals(keys.length, map.size());
+		Assert.assertEquals(0, map.fallbackSize());
+		for(int i = 0;i<keys.length;i++) Assert.assertEquals(i, map.get(keys[i]));
+		Assert.assertFalse(map.containsKey(0L));
+		Assert.assertFalse(map.containsKey((keys.length + 1L) * ((1L << 32) + 1L)));
+	}
+	
+	@Test
+	public void testCollidingObjectKeys()
+	{
+		//"Aa" and "BB" share a hashCode, so every group below is 8 keys with one identical hash
+		String[] parts = {"Aa", "BB"};
+		int groups = 200;
+		String[] keys = new String[groups * 8 + 500];
+		int[] values = new int[keys.length];
+		int index = 0;
+		for(int g = 0;g<groups;g++) {
+			for(int i = 0;i<8;i++) {
+				keys[index] = g+parts[i & 1]+parts[(i >> 1) & 1]+parts[(i >> 2) & 1];
+				values[index] = index++;
+			}
+		}
+		for(int i = 0;index<keys.length;i++) {
+			keys[index] = "unique"+i;
+			values[index] = index++;
+		}
+		PerfectObjectMap map = new PerfectObjectMap(keys, values);
+		Assert.assertEquals(keys.length, map.size());
+		for(int i = 0;i<keys.length;i++) Assert.assertEquals(keys[i], i, map.getInt(keys[i]));
+		//Colliding keys that are not part of the map have to be rejected by the range of their own bucket
+		for(int g = 0;g<groups;g++) Assert.assertFalse(map.containsKey(g+"AaAaAaAa"));
+		Assert.assertFalse(map.containsKey("unique-1"));
+		//Every bucket that needs the fallback only searches its own range
+		Assert.assertTrue(map.fallbackBuckets() >= groups / 2);
+		Assert.assertTrue(map.largestRange() < groups * 8 / 4);
+		ImmutableObject2IntPerfectHashMap<String> copy = map.copy();
+		for(int i = 0;i<keys.length;i++) Assert.assertEquals(i, copy.getInt(keys[i]));
+	}
+	
+	@Test
+	public void testDuplicatedKeys()
+	{
+		String[] keys = {"Aa", "BB", "Aa", "x", "BB"};
+		int[] values = {1, 2, 3, 4, 5};
+		ImmutableObject2IntPerfectHashMap<String> map = new ImmutableObject2IntPerfectHashMap<>(keys, values);
+		Assert.assertEquals(3, map.size());
+		Assert.assertEquals(3, map.getInt("Aa"));
+		Assert.assertEquals(5, map.getInt("BB"));
+		Assert.assertEquals(4, map.getInt("x"));
+	}
+	
+	static class PerfectLongMap extends ImmutableLong2IntPerfectHashMap
+	{
+		PerfectLongMap(long[] keys, int[] values)
+		{
+			super(keys, values);
+		}
+		
+		int fallbackSize()
+		{
+			return size - hashedSize;
+		}
+	}
+	
+	static class PerfectObjectMap extends ImmutableObject2IntPerfectHashMap<String>
+	{
+		PerfectObjectMap(String[] keys, int[] values)
+		{
+			super(keys, values);
+		}
+		
+		int fallbackBuckets()
+		{
+			return fallbackRanges.length - 1;
+		}
+		
+		int largestRange()
+		{
+			int largest = 0;
+			for(int i = 0;i<fallbackRanges.length - 1;i++) largest = Math.max(largest, fallbackRanges[i + 1] - fallbackRanges[i]);
+			return largest;
+		}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,141 @@
+package speiger.src.collections.ints.maps;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import speiger.src.collections.ints.base.BaseInt2IntMapTest;
+import speiger.src.collections.ints.maps.impl.hash.Int2IntIncrementalOpenHashMap;
+import speiger.src.collections.ints.maps.interfaces.Int2IntMap;
+import speiger.src.collections.ints.sets.IntIncrementalOpenHashSet;
+
+@SuppressWarnings("javadoc")
+public class Int2IntIncrementalOpenHashMapTest extends BaseInt2IntMapTest
+{
+	@Override
+	public Int2IntMap createMap(int[] keys, int[] values)
+	{
+		return new Int2IntIncrementalOpenHashMap(keys, values);
+	}
+	
+	@Override
+	public Int2IntMap createEmptyMap()
+	{
+		return new Int2IntIncrementalOpenHashMap();
+	}
+	
+	protected static void assertMigrationStep(int before, int after, int entries, boolean wasResizing)
+	{
+		//A running resize moves at most MIGRATION_STEPS slots, a new one moves at most that many right away
+		if(wasResizing) Assert.assertTrue(before - after <= IncrementalMap.steps());
+		else Assert.assertTrue(after == 0 || entries - after <= IncrementalMap.steps());
+	}
+	
+	@Test
+	public void testIncrementalGrowth()
+	{
+		IncrementalMap map = new IncrementalMap();
+		int resizes = 0;
+		int longestResize = 0;
+		int current = 0;
+		for(int i = 1;i<=10000;i++) {
+			boolean wasResizing = map.isResizing();
+			int before = map.oldSize();
+			int entries = map.size();
+			map.put(i, i * 2);
+			assertMigrationStep(before, map.oldSize(), entries, wasResizing);
+			if(map.isResizing()) {
+				if(!wasResizing) resizes++;
+				longestResize = Math.max(longestResize, ++current);
+				//Entries that were not moved yet still have to be found in the old table
+				for(int j = Math.max(1, i - 50);j<=i;j++) Assert.assertEquals(j * 2, map.get(j));
+			}
+			else current = 0;
+		}
+		Assert.assertTrue(resizes >= 8);
+		//The last growth moved thousands of entries, so it had to be spread over many operations
+		Assert.assertTrue(longestResize > 100);
+		for(int i = 1;i<=10000;i++) Assert.assertEquals(i * 2, map.get(i));
+		Assert.assertEquals(10000, map.size());
+	}
+	
+	@Test
+	public void testIncrementalShrink()
+	{
+		IncrementalMap map = new IncrementalMap();
+		for(int i = 1;i<=10000;i++) map.put(i, i);
+		map.finishResize();
+		Assert.assertFalse(map.isResizing());
+		boolean shrunk = false;
+		for(int i = 1;i<=9900;i++) {
+			boolean wasResizing = map.isResizing();
+			int before = map.oldSize();
+			int entries = map.size() - 1;
+			Assert.assertEquals(i, map.remove(i));
+			assertMigrationStep(before, map.oldSize(), entries, wasResizing);
+			shrunk |= map.isResizing();
+		}
+		Assert.assertTrue(shrunk);
+		for(int i = 9901;i<=10000;i++) Assert.assertEquals(i, map.get(i));
+		Assert.assertFalse(map.containsKey(9900));
+	}
+	
+	@Test
+	public void testFinishResize()
+	{
+		IncrementalMap map = new IncrementalMap();
+		int key = 0;
+		while(!map.isResizing()) map.put(++key, key);
+		while(map.oldSize() <= IncrementalMap.steps()) {
+			map.finishResize();
+			while(!map.isResizing()) map.put(++key, key);
+		}
+		map.finishResize();
+		Assert.assertFalse(map.isResizing());
+		Assert.assertEquals(0, map.oldSize());
+		for(int i = 1;i<=key;i++) Assert.assertEquals(i, map.get(i));
+		//Iterating finishes the pending resize too
+		while(!map.isResizing()) map.put(++key, key);
+		Assert.assertEquals(key, map.keySet().toIntArray().length);
+		Assert.assertFalse(map.isResizing());
+	}
+	
+	@Test
+	public void testSetIncrementalGrowth()
+	{
+		IncrementalSet set = new IncrementalSet();
+		boolean resized = false;
+		for(int i = 1;i<=10000;i++) {
+			boolean wasResizing = set.isResizing();
+			int before = set.oldSize();
+			int entries = set.size();
+			Assert.assertTrue(set.add(i));
+			assertMigrationStep(before, set.oldSize(), entries, wasResizing);
+			resized |= set.isResizing();
+		}
+		Assert.assertTrue(resized);
+		set.finishResize();
+		Assert.assertFalse(set.isResizing());
+		for(int i = 1;i<=10000;i++) Assert.assertTrue(set.contains(i));
+	}
+	
+	protected static class IncrementalMap extends Int2IntIncrementalOpenHashMap
+	{
+		public static int steps()
+		{
+			return MIGRATION_STEPS;
+		}
+		
+		public int oldSize()
+		{
+			return oldSize;
+		}
+	}
+	
+	protected static class IncrementalSet extends IntIncrementalOpenHashSet
+	{
+		public int oldSize()
+		{
+			return oldSize;
+		}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,133 @@
+package speiger.src.collections.ints.maps;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import speiger.src.collections.ints.base.BaseInt2IntOrderedMapTest;
+import speiger.src.collections.ints.lists.IntArrayList;
+import speiger.src.collections.ints.lists.IntList;
+import speiger.src.collections.ints.maps.impl.hash.Int2IntLRUOpenHashMap;
+import speiger.src.collections.ints.maps.interfaces.Int2IntOrderedMap;
+
+@SuppressWarnings("javadoc")
+public class Int2IntLRUOpenHashMapTest extends BaseInt2IntOrderedMapTest
+{
+	@Override
+	public Int2IntOrderedMap createMap(int[] keys, int[] values)
+	{
+		return new Int2IntLRUOpenHashMap(keys, values, Integer.MAX_VALUE);
+	}
+	
+	@Override
+	public Int2IntOrderedMap createEmptyMap()
+	{
+		return new Int2IntLRUOpenHashMap(Integer.MAX_VALUE);
+	}
+	
+	protected static Int2IntLRUOpenHashMap createBoundedMap(IntList evicted)
+	{
+		Int2IntLRUOpenHashMap map = new Int2IntLRUOpenHashMap(3, (K, V) -> {
+			evicted.add(K);
+			evicted.add(V);
+		});
+		for(int i = 1;i<=3;i++) map.put(i, i * 10);
+		return map;
+	}
+	
+	protected static void assertOrder(Int2IntLRUOpenHashMap map, int...keys)
+	{
+		Assert.assertArrayEquals(keys, map.keySet().toIntArray());
+	}
+	
+	@Test
+	public void testEvictionOrderAfterGet()
+	{
+		IntList evicted = new IntArrayList();
+		Int2IntLRUOpenHashMap map = createBoundedMap(evicted);
+		assertOrder(map, 1, 2, 3);
+		Assert.assertEquals(10, map.get(1));
+		assertOrder(map, 2, 3, 1);
+		map.put(4, 40);
+		assertOrder(map, 3, 1, 4);
+		Assert.assertEquals(30, map.getOrDefault(3, -1));
+		Assert.assertEquals(-1, map.getOrDefault(2, -1));
+		Assert.assertEquals(0, map.get(2));
+		assertOrder(map, 1, 4, 3);
+		map.put(5, 50);
+		assertOrder(map, 4, 3, 5);
+		Assert.assertEquals(3, map.size());
+		Assert.assertArrayEquals(new int[]{2, 20, 1, 10}, evicted.toIntArray());
+	}
+	
+	@Test
+	public void testUpdateMovesWithoutEviction()
+	{
+		IntList evicted = new IntArrayList();
+		Int2IntLRUOpenHashMap map = createBoundedMap(evicted);
+		Assert.assertEquals(10, map.put(1, 11));
+		assertOrder(map, 2, 3, 1);
+		Assert.assertTrue(evicted.isEmpty());
+		map.put(4, 40);
+		Assert.assertArrayEquals(new int[]{2, 20}, evicted.toIntArray());
+		Assert.assertEquals(11, map.get(1));
+	}
+	
+	@Test
+	public void testEvictionListenerArguments()
+	{
+		IntList evicted = new IntArrayList();
+		Int2IntLRUOpenHashMap map = new Int2IntLRUOpenHashMap(2, (K, V) -> {
+			evicted.add(K);
+			evicted.add(V);
+		});
+		map.put(0, 7);
+		map.put(-5, 8);
+		map.put(9, 0);
+		map.put(10, 1);
+		map.put(11, 2);
+		Assert.assertArrayEquals(new int[]{0, 7, -5, 8, 9, 0}, evicted.toIntArray());
+		Assert.assertFalse(map.containsKey(0));
+		assertOrder(map, 10, 11);
+		evicted.clear();
+		map.setEvictionListener(null);
+		map.put(12, 3);
+		Assert.assertTrue(evicted.isEmpty());
+		assertOrder(map, 11, 12);
+	}
+	
+	@Test
+	public void testPutAndMoveToFirstOnFullMap()
+	{
+		IntList evicted = new IntArrayList();
+		Int2IntLRUOpenHashMap map = createBoundedMap(evicted);
+		//The new entry becomes the least recently used one and is evicted right away
+		Assert.assertEquals(0, map.putAndMoveToFirst(4, 40));
+		Assert.assertArrayEquals(new int[]{4, 40}, evicted.toIntArray());
+		Assert.assertFalse(map.containsKey(4));
+		assertOrder(map, 1, 2, 3);
+		evicted.clear();
+		Assert.assertEquals(30, map.putAndMoveToFirst(3, 33));
+		assertOrder(map, 3, 1, 2);
+		Assert.assertTrue(evicted.isEmpty());
+		map.put(5, 50);
+		Assert.assertArrayEquals(new int[]{3, 33}, evicted.toIntArray());
+		assertOrder(map, 1, 2, 5);
+		map.setMaxSize(1);
+		evicted.clear();
+		Assert.assertEquals(0, map.putAndMoveToFirst(6, 60));
+		Assert.assertArrayEquals(new int[]{6, 60}, evicted.toIntArray());
+		assertOrder(map, 5);
+	}
+	
+	@Test
+	public void testShrinkMaxSize()
+	{
+		IntList evicted = new IntArrayList();
+		Int2IntLRUOpenHashMap map = createBoundedMap(evicted);
+		map.get(1);
+		map.setMaxSize(1);
+		Assert.assertArrayEquals(new int[]{2, 20, 3, 30}, evicted.toIntArray());
+		assertOrder(map, 1);
+		Assert.assertEquals(1, map.getMaxSize());
+	}
+}
\ No newline at end of file
@@ -0,0 +1,87 @@
+package speiger.src.collections.ints.maps;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import speiger.src.collections.ints.base.BaseInt2IntMapTest;
+import speiger.src.collections.ints.maps.impl.hash.Int2IntOffHeapOpenHashMap;
+import speiger.src.collections.ints.maps.interfaces.Int2IntMap;
+
+@SuppressWarnings("javadoc")
+public class Int2IntOffHeapOpenHashMapTest extends BaseInt2IntMapTest
+{
+	@Override
+	public Int2IntMap createMap(int[] keys, int[] values)
+	{
+		return new Int2IntOffHeapOpenHashMap(keys, values);
+	}
+	
+	@Override
+	public Int2IntMap createEmptyMap()
+	{
+		return new Int2IntOffHeapOpenHashMap();
+	}
+	
+	@Test
+	public void testMemoryUsage()
+	{
+		Int2IntOffHeapOpenHashMap map = new Int2IntOffHeapOpenHashMap(16, 0.75F);
+		//32 slots with a 4 byte key and a 4 byte value each
+		Assert.assertEquals(32 * 8, map.getMemoryUsage());
+		for(int i = 0;i<1000;i++) map.put(i, i);
+		long grown = map.getMemoryUsage();
+		Assert.assertEquals(2048 * 8, grown);
+		for(int i = 0;i<1000;i++) map.remove(i);
+		Assert.assertTrue(map.getMemoryUsage() < grown);
+		map.put(5, 6);
+		map.clearAndTrim(0);
+		Assert.assertEquals(32 * 8, map.getMemoryUsage());
+		map.close();
+	}
+	
+	@Test
+	public void testClose()
+	{
+		Int2IntOffHeapOpenHashMap map = new Int2IntOffHeapOpenHashMap();
+		for(int i = 0;i<100;i++) map.put(i, i * 2);
+		Int2IntOffHeapOpenHashMap copy = map.copy();
+		map.close();
+		Assert.assertEquals(0, map.getMemoryUsage());
+		Assert.assertEquals(0, map.size());
+		Assert.assertTrue(map.isEmpty());
+		//Closing twice is allowed
+		map.close();
+		//The copy owns its own memory
+		Assert.assertEquals(100, copy.size());
+		for(int i = 0;i<100;i++) Assert.assertEquals(i * 2, copy.get(i));
+		copy.close();
+	}
+	
+	@Test
+	public void testUseAfterClose()
+	{
+		Int2IntOffHeapOpenHashMap map = new Int2IntOffHeapOpenHashMap();
+		map.put(1, 2);
+		map.close();
+		assertClosed(() -> map.get(1));
+		assertClosed(() -> map.put(3, 4));
+		assertClosed(() -> map.containsKey(0));
+		assertClosed(() -> map.remove(1));
+		assertClosed(() -> map.containsValue(2));
+		assertClosed(() -> map.forEach((K, V) -> {}));
+		assertClosed(() -> map.int2IntEntrySet().iterator());
+		assertClosed(() -> map.keySet().iterator());
+		assertClosed(() -> map.clear());
+		assertClosed(() -> map.trim());
+		assertClosed(() -> map.copy());
+	}
+	
+	protected static void assertClosed(Runnable action)
+	{
+		try {
+			action.run();
+			Assert.fail("A closed map should not be usable");
+		}
+		catch(IllegalStateException expected) {}
+	}
+}
\ No newline at end of file
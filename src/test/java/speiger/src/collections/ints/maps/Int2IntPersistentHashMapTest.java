@@ -0,0 +1,141 @@
+package speiger.src.collections.ints.maps;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import speiger.src.collections.ints.base.BaseInt2IntMapTest;
+import speiger.src.collections.ints.maps.impl.immutable.Int2DoublePersistentHashMap;
+import speiger.src.collections.ints.maps.impl.immutable.Int2IntPersistentHashMap;
+import speiger.src.collections.ints.maps.interfaces.Int2IntMap;
+import speiger.src.collections.ints.sets.IntOpenHashSet;
+import speiger.src.collections.ints.sets.IntSet;
+import speiger.src.collections.objects.collections.ObjectIterator;
+
+@SuppressWarnings("javadoc")
+public class Int2IntPersistentHashMapTest extends BaseInt2IntMapTest
+{
+	@Override
+	public Int2IntMap createMap(int[] keys, int[] values)
+	{
+		return new Int2IntPersistentHashMap(keys, values).asTransient();
+	}
+	
+	@Override
+	public Int2IntMap createEmptyMap()
+	{
+		return new Int2IntPersistentHashMap.TransientMap();
+	}
+	
+	protected static Int2IntPersistentHashMap createRange(int size)
+	{
+		Int2IntPersistentHashMap.TransientMap map = new Int2IntPersistentHashMap.TransientMap();
+		for(int i = 0;i<size;i++) map.put(i, i * 2);
+		return map.persistent();
+	}
+	
+	protected static void assertRange(Int2IntMap map, int size)
+	{
+		Assert.assertEquals(size, map.size());
+		for(int i = 0;i<size;i++) Assert.assertEquals(i * 2, map.get(i));
+	}
+	
+	@Test
+	public void testWithLeavesMapUnchanged()
+	{
+		Int2IntPersistentHashMap map = createRange(1000);
+		Int2IntPersistentHashMap added = map.with(5000, 1);
+		Int2IntPersistentHashMap replaced = map.with(5, 99);
+		assertRange(map, 1000);
+		Assert.assertFalse(map.containsKey(5000));
+		Assert.assertEquals(1001, added.size());
+		Assert.assertEquals(1, added.get(5000));
+		Assert.assertEquals(10, added.get(5));
+		Assert.assertEquals(1000, replaced.size());
+		Assert.assertEquals(99, replaced.get(5));
+		Assert.assertFalse(replaced.containsKey(5000));
+		Assert.assertSame(map, map.with(5, 10));
+	}
+	
+	@Test
+	public void testWithoutLeavesMapUnchanged()
+	{
+		Int2IntPersistentHashMap map = createRange(1000);
+		Int2IntPersistentHashMap removed = map;
+		for(int i = 0;i<1000;i+=2) removed = removed.without(i);
+		assertRange(map, 1000);
+		Assert.assertEquals(500, removed.size());
+		for(int i = 0;i<1000;i++) Assert.assertEquals((i & 1) != 0, removed.containsKey(i));
+		Assert.assertSame(map, map.without(5000));
+	}
+	
+	@Test
+	public void testTransientWritesLeaveSourceUnchanged()
+	{
+		Int2IntPersistentHashMap map = createRange(1000);
+		Int2IntPersistentHashMap.TransientMap edit = map.asTransient();
+		for(int i = 0;i<1000;i+=2) edit.remove(i);
+		for(int i = 1;i<1000;i+=2) edit.addTo(i, 1);
+		edit.put(5000, 1);
+		assertRange(map, 1000);
+		Assert.assertFalse(map.containsKey(5000));
+		Assert.assertEquals(501, edit.size());
+	}
+	
+	@Test
+	public void testSnapshotUnaffectedByLaterWrites()
+	{
+		Int2IntPersistentHashMap.TransientMap edit = new Int2IntPersistentHashMap.TransientMap();
+		for(int i = 0;i<1000;i++) edit.put(i, i * 2);
+		Int2IntPersistentHashMap snapshot = edit.persistent();
+		for(int i = 0;i<1000;i+=2) edit.remove(i);
+		for(int i = 1;i<1000;i+=2) edit.put(i, -i);
+		for(int i = 1000;i<2000;i++) edit.put(i, i);
+		assertRange(snapshot, 1000);
+		Assert.assertFalse(snapshot.containsKey(1500));
+		Int2IntPersistentHashMap second = edit.persistent();
+		edit.clear();
+		assertRange(snapshot, 1000);
+		Assert.assertEquals(1500, second.size());
+		Assert.assertEquals(-1, second.get(1));
+		Assert.assertEquals(1500, second.get(1500));
+		Assert.assertFalse(second.containsKey(0));
+	}
+	
+	@Test
+	public void testIteratorUnaffectedByLaterWrites()
+	{
+		Int2IntPersistentHashMap.TransientMap edit = new Int2IntPersistentHashMap.TransientMap();
+		for(int i = 0;i<1000;i++) edit.put(i, i * 2);
+		ObjectIterator<Int2IntMap.Entry> iter = edit.int2IntEntrySet().iterator();
+		IntSet seen = new IntOpenHashSet();
+		for(int i = 0;i<500;i++) {
+			Int2IntMap.Entry entry = iter.next();
+			Assert.assertEquals(entry.getIntKey() * 2, entry.getIntValue());
+			Assert.assertTrue(seen.add(entry.getIntKey()));
+		}
+		for(int i = 0;i<1000;i+=2) edit.remove(i);
+		for(int i = 1;i<1000;i+=2) edit.put(i, -i);
+		for(int i = 1000;i<2000;i++) edit.put(i, i);
+		while(iter.hasNext()) {
+			Int2IntMap.Entry entry = iter.next();
+			Assert.assertEquals(entry.getIntKey() * 2, entry.getIntValue());
+			Assert.assertTrue(seen.add(entry.getIntKey()));
+		}
+		Assert.assertEquals(1000, seen.size());
+		for(int i = 0;i<1000;i++) Assert.assertTrue(seen.contains(i));
+		Assert.assertEquals(1500, edit.size());
+		Assert.assertEquals(-1, edit.get(1));
+	}
+	
+	@Test
+	public void testSignedZeroValues()
+	{
+		Int2DoublePersistentHashMap map = new Int2DoublePersistentHashMap().with(1, 0D);
+		Int2DoublePersistentHashMap negative = map.with(1, -0D);
+		Assert.assertNotSame(map, negative);
+		Assert.assertEquals(Double.doubleToLongBits(0D), Double.doubleToLongBits(map.get(1)));
+		Assert.assertEquals(Double.doubleToLongBits(-0D), Double.doubleToLongBits(negative.get(1)));
+		Int2DoublePersistentHashMap nan = map.with(1, Double.NaN);
+		Assert.assertSame(nan, nan.with(1, Double.NaN));
+	}
+}
\ No newline at end of file
@@ -0,0 +1,108 @@
+package speiger.src.collections.ints.maps;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import speiger.src.collections.ints.base.BaseInt2IntMapTest;
+import speiger.src.collections.ints.collections.IntIterator;
+import speiger.src.collections.ints.maps.impl.hash.Int2IntRobinHoodOpenHashMap;
+import speiger.src.collections.ints.maps.interfaces.Int2IntMap;
+import speiger.src.collections.utils.HashUtil;
+
+@SuppressWarnings("javadoc")
+public class Int2IntRobinHoodOpenHashMapTest extends BaseInt2IntMapTest
+{
+	//A minimum capacity of 16 with the default load factor gives 32 slots
+	static final int SLOTS = 32;
+	
+	@Override
+	public Int2IntMap createMap(int[] keys, int[] values)
+	{
+		return new Int2IntRobinHoodOpenHashMap(keys, values);
+	}
+	
+	@Override
+	public Int2IntMap createEmptyMap()
+	{
+		return new Int2IntRobinHoodOpenHashMap();
+	}
+	
+	/**
+	 * @return the index-th key whose home slot is the given slot
+	 */
+	protected static int keyAt(int home, int index)
+	{
+		return HashUtil.invMix(home + index * SLOTS);
+	}
+	
+	protected static void assertDisplacement(Int2IntRobinHoodOpenHashMap map, int max, int total, int count)
+	{
+		Assert.assertEquals(count, map.size());
+		Assert.assertEquals(max, map.getMaxDisplacement());
+		Assert.assertEquals((double)total / count, map.getMeanDisplacement(), 0.0001D);
+	}
+	
+	@Test
+	public void testDisplacement()
+	{
+		Int2IntRobinHoodOpenHashMap map = new Int2IntRobinHoodOpenHashMap(16, 0.75F);
+		Assert.assertEquals(0, map.getMaxDisplacement());
+		Assert.assertEquals(0D, map.getMeanDisplacement(), 0D);
+		//Three keys for slot 5 take the slots 5-7, so the two keys for slot 6 end up in 8 and 9
+		map.put(keyAt(6, 0), 60);
+		map.put(keyAt(5, 0), 50);
+		map.put(keyAt(6, 1), 61);
+		map.put(keyAt(5, 1), 51);
+		map.put(keyAt(5, 2), 52);
+		map.put(keyAt(20, 0), 200);
+		assertDisplacement(map, 3, 0 + 1 + 2 + 2 + 3 + 0, 6);
+		//Backward shift moves all following keys of the cluster one slot closer
+		Assert.assertEquals(51, map.remove(keyAt(5, 1)));
+		assertDisplacement(map, 2, 0 + 1 + 1 + 2 + 0, 5);
+		//The iterator uses its own shift, which has to keep the stored hashes in sync
+		for(IntIterator iter = map.keySet().iterator();iter.hasNext();) {
+			if(iter.nextInt() == keyAt(6, 0)) iter.remove();
+		}
+		assertDisplacement(map, 1, 0 + 1 + 1 + 0, 4);
+		//Keys for the last slot wrap around to the start of the table
+		map.put(keyAt(31, 0), 310);
+		map.put(keyAt(31, 1), 311);
+		map.put(keyAt(31, 2), 312);
+		assertDisplacement(map, 2, 0 + 1 + 1 + 0 + 0 + 1 + 2, 7);
+		Assert.assertEquals(310, map.remove(keyAt(31, 0)));
+		assertDisplacement(map, 1, 0 + 1 + 1 + 0 + 0 + 1, 6);
+		Int2IntRobinHoodOpenHashMap copy = map.copy();
+		assertDisplacement(copy, 1, 3, 6);
+		int[] keys = {keyAt(5, 0), keyAt(5, 2), keyAt(6, 1), keyAt(20, 0), keyAt(31, 1), keyAt(31, 2)};
+		int[] values = {50, 52, 61, 200, 311, 312};
+		for(int i = 0;i<keys.length;i++) {
+			Assert.assertEquals(values[i], map.get(keys[i]));
+			Assert.assertEquals(values[i], copy.get(keys[i]));
+		}
+		Assert.assertFalse(map.containsKey(keyAt(5, 1)));
+		Assert.assertFalse(map.containsKey(keyAt(6, 0)));
+		Assert.assertFalse(map.containsKey(keyAt(31, 0)));
+	}
+	
+	@Test
+	public void testResizeKeepsHashes()
+	{
+		Int2IntRobinHoodOpenHashMap map = new Int2IntRobinHoodOpenHashMap(16, 0.75F);
+		//Every key shares the home slot 3 of the small table, so every resize has to move long clusters
+		for(int i = 0;i<200;i++) map.put(keyAt(3, i + 1), i);
+		for(int i = 0;i<200;i++) Assert.assertEquals(i, map.get(keyAt(3, i + 1)));
+		for(int i = 0;i<200;i+=2) Assert.assertEquals(i, map.remove(keyAt(3, i + 1)));
+		Assert.assertTrue(map.trim(100));
+		for(int i = 0;i<200;i++) Assert.assertEquals(i % 2 == 0 ? 0 : i, map.get(keyAt(3, i + 1)));
+		map.clearAndTrim(0);
+		map.put(keyAt(5, 0), 50);
+		map.put(keyAt(5, 1), 51);
+		map.put(keyAt(6, 0), 60);
+		assertDisplacement(map, 1, 0 + 1 + 1, 3);
+		//The zero key is stored outside of the table and does not count towards the mean
+		map.put(0, 1);
+		Assert.assertEquals(4, map.size());
+		Assert.assertEquals(1, map.getMaxDisplacement());
+		Assert.assertEquals(2D / 3D, map.getMeanDisplacement(), 0.0001D);
+	}
+}
\ No newline at end of file
@@ -0,0 +1,161 @@
+package speiger.src.collections.ints.maps.impl.concurrent;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import speiger.src.collections.ints.base.BaseInt2IntMapTest;
+import speiger.src.collections.ints.maps.impl.hash.Int2IntOpenHashMap;
+import speiger.src.collections.ints.maps.interfaces.Int2IntMap;
+
+@SuppressWarnings("javadoc")
+public class Int2IntConcurrentCounterMapTest extends BaseInt2IntMapTest
+{
+	static final int THREADS = 8;
+	static final int ROUNDS = 20000;
+	static final int HOT_KEYS = 16;
+	
+	@Override
+	public Int2IntMap createMap(int[] keys, int[] values)
+	{
+		return new Int2IntConcurrentCounterMap(keys, values);
+	}
+	
+	@Override
+	public Int2IntMap createEmptyMap()
+	{
+		return new Int2IntConcurrentCounterMap();
+	}
+	
+	protected static void runThreads(int threads, ThreadTask task) throws InterruptedException
+	{
+		AtomicReference<Throwable> failure = new AtomicReference<>();
+		CountDownLatch start = new CountDownLatch(1);
+		Thread[] workers = new Thread[threads];
+		for(int t = 0;t<threads;t++) {
+			int index = t;
+			workers[t] = new Thread(() -> {
+				try {
+					start.await();
+					task.run(index);
+				}
+				catch(Throwable e) {
+					failure.compareAndSet(null, e);
+				}
+			});
+			workers[t].start();
+		}
+		start.countDown();
+		for(Thread worker : workers) worker.join();
+		if(failure.get() != null) throw new AssertionError(failure.get());
+	}
+	
+	@Test
+	public void testConcurrentAddTo() throws InterruptedException
+	{
+		for(boolean striped : new boolean[]{false, true}) {
+			//Small start capacity so the lock free updates race with resizes caused by the unique keys
+			Int2IntConcurrentCounterMap map = new Int2IntConcurrentCounterMap(4, 0.75F, striped);
+			runThreads(THREADS, T -> {
+				for(int i = 0;i<ROUNDS;i++) {
+					map.addTo(i % HOT_KEYS, 1);
+					if((i & 7) == 0) map.addTo(1000 + T * ROUNDS + i, 3);
+				}
+			});
+			for(int i = 0;i<HOT_KEYS;i++) Assert.assertEquals("Striped "+striped, THREADS * ROUNDS / HOT_KEYS, map.get(i));
+			for(int t = 0;t<THREADS;t++) {
+				for(int i = 0;i<ROUNDS;i+=8) Assert.assertEquals("Striped "+striped, 3, map.get(1000 + t * ROUNDS + i));
+			}
+			Assert.assertEquals(HOT_KEYS + THREADS * ROUNDS / 8, map.size());
+			Assert.assertEquals(THREADS * ROUNDS + THREADS * ROUNDS / 8 * 3, map.sum());
+		}
+	}
+	
+	@Test
+	public void testConcurrentAddAndSubtract() throws InterruptedException
+	{
+		for(boolean striped : new boolean[]{false, true}) {
+			Int2IntConcurrentCounterMap map = new Int2IntConcurrentCounterMap(4, 0.75F, striped);
+			runThreads(THREADS, T -> {
+				for(int i = 0;i<ROUNDS;i++) {
+					map.addTo(i % HOT_KEYS, 3);
+					map.subFrom(i % HOT_KEYS, 1);
+				}
+			});
+			for(int i = 0;i<HOT_KEYS;i++) Assert.assertEquals("Striped "+striped, THREADS * ROUNDS / HOT_KEYS * 2, map.get(i));
+			Assert.assertEquals(HOT_KEYS, map.size());
+		}
+	}
+	
+	@Test
+	public void testConcurrentSumThenReset() throws InterruptedException
+	{
+		for(boolean striped : new boolean[]{false, true}) {
+			Int2IntConcurrentCounterMap map = new Int2IntConcurrentCounterMap(4, 0.75F, striped);
+			Int2IntMap drained = new Int2IntOpenHashMap();
+			AtomicBoolean running = new AtomicBoolean(true);
+			Thread flusher = new Thread(() -> {
+				while(running.get()) {
+					map.sumThenReset(drained::addTo);
+					drained.addTo(0, map.sumThenReset(0));
+				}
+			});
+			flusher.start();
+			try {
+				runThreads(THREADS, T -> {
+					for(int i = 0;i<ROUNDS;i++) {
+						map.addTo(i % HOT_KEYS, 1);
+						if((i & 15) == 0) map.addTo(1000 + T * ROUNDS + i, 1);
+					}
+				});
+			}
+			finally {
+				running.set(false);
+				flusher.join();
+			}
+			map.sumThenReset(drained::addTo);
+			for(int i = 0;i<HOT_KEYS;i++) {
+				Assert.assertEquals("Striped "+striped, THREADS * ROUNDS / HOT_KEYS, drained.get(i));
+				Assert.assertEquals("Striped "+striped, 0, map.get(i));
+			}
+			for(int t = 0;t<THREADS;t++) {
+				for(int i = 0;i<ROUNDS;i+=16) Assert.assertEquals("Striped "+striped, 1, drained.get(1000 + t * ROUNDS + i));
+			}
+			Assert.assertEquals(HOT_KEYS + THREADS * ROUNDS / 16, map.size());
+			Assert.assertEquals(0, map.sum());
+		}
+	}
+	
+	@Test
+	public void testSnapshotThenReset() throws InterruptedException
+	{
+		Int2IntConcurrentCounterMap map = new Int2IntConcurrentCounterMap(4, 0.75F, true);
+		int[] totals = new int[HOT_KEYS];
+		AtomicBoolean running = new AtomicBoolean(true);
+		Thread flusher = new Thread(() -> {
+			while(running.get()) {
+				map.snapshotThenReset().forEach((K, V) -> totals[K] += V);
+			}
+		});
+		flusher.start();
+		try {
+			runThreads(THREADS, T -> {
+				for(int i = 0;i<ROUNDS;i++) map.addTo(i % HOT_KEYS, 1);
+			});
+		}
+		finally {
+			running.set(false);
+			flusher.join();
+		}
+		map.snapshotThenReset().forEach((K, V) -> totals[K] += V);
+		for(int i = 0;i<HOT_KEYS;i++) Assert.assertEquals(THREADS * ROUNDS / HOT_KEYS, totals[i]);
+	}
+	
+	protected static interface ThreadTask
+	{
+		public void run(int thread) throws Exception;
+	}
+}
\ No newline at end of file
@@ -0,0 +1,690 @@
+package speiger.src.collections.ints.maps.impl.concurrent;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import speiger.src.collections.ints.base.BaseInt2IntMapTest;
+import speiger.src.collections.ints.maps.interfaces.Int2IntMap;
+import speiger.src.collections.ints.collections.IntIterator;
+import speiger.src.collections.objects.collections.ObjectBidirectionalIterator;
+import speiger.src.collections.objects.collections.ObjectIterator;
+import speiger.src.collections.utils.HashUtil;
+import speiger.src.collections.utils.SanityChecks;
+
+@SuppressWarnings("javadoc")
+public class Int2IntConcurrentOpenHashMapTest extends BaseInt2IntMapTest
+{
+	protected static final int STABLE_KEYS = 20000;
+	
+	@Override
+	public Int2IntMap createMap(int[] keys, int[] values)
+	{
+		return new Int2IntConcurrentOpenHashMap(keys, values);
+	}
+	
+	@Override
+	public Int2IntMap createEmptyMap()
+	{
+		return new Int2IntConcurrentOpenHashMap();
+	}
+	
+	protected static Int2IntConcurrentOpenHashMap createAdaptiveMap()
+	{
+		Int2IntConcurrentOpenHashMap map = new Int2IntConcurrentOpenHashMap(16, 0.75F, 2, 8);
+		for(int i = 0;i<STABLE_KEYS;i++) map.put(i, i);
+		return map;
+	}
+	
+	protected static int prefix(Int2IntConcurrentOpenHashMap map, int key)
+	{
+		return (HashUtil.mix(Integer.hashCode(key)) >>> map.segmentShift) & map.segmentMask;
+	}
+	
+	protected static void split(Int2IntConcurrentOpenHashMap.Segment seg)
+	{
+		long stamp = seg.writeLock();
+		try {
+			if(seg.span > 1) seg.split();
+		}
+		finally {
+			seg.unlockWrite(stamp);
+		}
+	}
+	
+	protected static void merge(Int2IntConcurrentOpenHashMap.Segment seg)
+	{
+		long stamp = seg.writeLock();
+		try {
+			if(seg.span > 0 && seg.span < seg.map.maxSegmentSpan) seg.merge(System.nanoTime() + Int2IntConcurrentOpenHashMap.Segment.COLD_WINDOW_NANOS);
+		}
+		finally {
+			seg.unlockWrite(stamp);
+		}
+	}
+	
+	protected static int findKey(Int2IntConcurrentOpenHashMap map, int from, int minPrefix, int maxPrefix)
+	{
+		for(int i = from;;i++) {
+			int prefix = prefix(map, i);
+			if(prefix >= minPrefix && prefix < maxPrefix) return i;
+		}
+	}
+	
+	@Test
+	public void testSplitAndMergeKeepEntries()
+	{
+		Int2IntConcurrentOpenHashMap map = createAdaptiveMap();
+		Assert.assertEquals(2, map.getConcurrencyLevel());
+		split(map.segments[0]);
+		split(map.segments[0]);
+		split(map.segments[4]);
+		Assert.assertEquals(5, map.getConcurrencyLevel());
+		for(int i = 0;i<STABLE_KEYS;i++) Assert.assertEquals(i, map.get(i));
+		merge(map.segments[0]);
+		merge(map.segments[0]);
+		merge(map.segments[4]);
+		Assert.assertEquals(2, map.getConcurrencyLevel());
+		Assert.assertEquals(STABLE_KEYS, map.size());
+		for(int i = 0;i<STABLE_KEYS;i++) Assert.assertEquals(i, map.get(i));
+	}
+	
+	@Test
+	public void testIteratorAfterSplit()
+	{
+		Int2IntConcurrentOpenHashMap map = new Int2IntConcurrentOpenHashMap(16, 0.75F, 1, 2);
+		int low = findKey(map, 0, 0, 1);
+		int high = findKey(map, 0, 1, 2);
+		map.put(low, 1);
+		map.put(high, 2);
+		ObjectIterator<Int2IntMap.Entry> iter = map.int2IntEntrySet().iterator();
+		Int2IntMap.Entry entry = iter.next();
+		int key = entry.getIntKey();
+		split(map.segments[0]);
+		Assert.assertEquals(key == low ? 1 : 2, entry.setValue(5));
+		Assert.assertEquals(5, map.get(key));
+		iter.remove();
+		Assert.assertFalse(map.containsKey(key));
+		Assert.assertTrue(map.containsKey(key == low ? high : low));
+		Assert.assertEquals(1, map.size());
+	}
+	
+	@Test
+	public void testReservationMovesWithSplit() throws InterruptedException
+	{
+		Int2IntConcurrentOpenHashMap map = new Int2IntConcurrentOpenHashMap(16, 0.75F, 1, 2);
+		map.setComputeOutsideLock(true);
+		int key = findKey(map, 0, 1, 2);
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		AtomicInteger loads = new AtomicInteger();
+		Thread loader = new Thread(() -> map.computeIfAbsent(key, K -> {
+			loads.incrementAndGet();
+			started.countDown();
+			try { release.await(); }
+			catch(InterruptedException e) { Thread.currentThread().interrupt(); }
+			return 10;
+		}));
+		loader.start();
+		started.await();
+		split(map.segments[0]);
+		Assert.assertNull(map.segments[0].reservations);
+		Assert.assertNotNull(map.segments[1].reservations);
+		Thread waiter = new Thread(() -> map.computeIfAbsent(key, K -> {
+			loads.incrementAndGet();
+			return 20;
+		}));
+		waiter.start();
+		release.countDown();
+		loader.join();
+		waiter.join();
+		Assert.assertEquals(1, loads.get());
+		Assert.assertEquals(10, map.get(key));
+		Assert.assertNull(map.segments[1].reservations);
+	}
+	
+	@Test
+	public void testReservationMovesWithMerge() throws InterruptedException
+	{
+		Int2IntConcurrentOpenHashMap map = new Int2IntConcurrentOpenHashMap(16, 0.75F, 1, 2);
+		map.setComputeOutsideLock(true);
+		split(map.segments[0]);
+		Assert.assertEquals(2, map.getConcurrencyLevel());
+		int key = findKey(map, 0, 1, 2);
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		AtomicInteger loads = new AtomicInteger();
+		Thread loader = new Thread(() -> map.computeIfAbsent(key, K -> {
+			loads.incrementAndGet();
+			started.countDown();
+			try { release.await(); }
+			catch(InterruptedException e) { Thread.currentThread().interrupt(); }
+			return 10;
+		}));
+		loader.start();
+		started.await();
+		merge(map.segments[0]);
+		Assert.assertEquals(1, map.getConcurrencyLevel());
+		Assert.assertNull(map.segments[1].reservations);
+		Assert.assertNotNull(map.segments[0].reservations);
+		Thread waiter = new Thread(() -> map.computeIfAbsent(key, K -> {
+			loads.incrementAndGet();
+			return 20;
+		}));
+		waiter.start();
+		release.countDown();
+		loader.join();
+		waiter.join();
+		Assert.assertEquals(1, loads.get());
+		Assert.assertEquals(10, map.get(key));
+		Assert.assertNull(map.segments[0].reservations);
+	}
+	
+	@Test
+	public void testTraversalsDuringSplitAndMerge() throws InterruptedException
+	{
+		Int2IntConcurrentOpenHashMap map = createAdaptiveMap();
+		AtomicBoolean running = new AtomicBoolean(true);
+		AtomicReference<Throwable> failure = new AtomicReference<>();
+		Thread adapter = new Thread(() -> {
+			try {
+				while(running.get()) {
+					for(int i = 0;i<8;i++) split(map.segments[i]);
+					for(int i = 0;i<8;i++) split(map.segments[i]);
+					for(int i = 0;i<8;i++) merge(map.segments[i]);
+					for(int i = 0;i<8;i++) merge(map.segments[i]);
+				}
+			}
+			catch(Throwable e) {
+				failure.set(e);
+			}
+		});
+		Thread writer = new Thread(() -> {
+			try {
+				for(int i = 0;running.get();i = (i + 1) & 4095) {
+					map.put(STABLE_KEYS + i, i);
+					map.remove(STABLE_KEYS + ((i + 2048) & 4095));
+				}
+			}
+			catch(Throwable e) {
+				failure.set(e);
+			}
+		});
+		adapter.start();
+		writer.start();
+		try {
+			for(int round = 0;round<40;round++) {
+				map.setWeaklyConsistentIteration((round & 1) != 0);
+				int[] seen = new int[STABLE_KEYS];
+				map.forEach((K, V) -> {
+					if(K < STABLE_KEYS) seen[K]++;
+				});
+				assertSeenOnce(seen);
+				int[] entries = new int[STABLE_KEYS];
+				map.int2IntEntrySet().forEach(E -> {
+					if(E.getIntKey() < STABLE_KEYS) entries[E.getIntKey()]++;
+				});
+				assertSeenOnce(entries);
+				if((round & 1) != 0) {
+					int[] iterated = new int[STABLE_KEYS];
+					for(ObjectIterator<Int2IntMap.Entry> iter = map.int2IntEntrySet().iterator();iter.hasNext();) {
+						int key = iter.next().getIntKey();
+						if(key < STABLE_KEYS) iterated[key]++;
+					}
+					assertSeenOnce(iterated);
+				}
+				Assert.assertEquals(STABLE_KEYS, map.countParallel(0, E -> E.getIntKey() < STABLE_KEYS));
+			}
+		}
+		finally {
+			running.set(false);
+			adapter.join();
+			writer.join();
+		}
+		Assert.assertNull(failure.get());
+		for(int i = 0;i<STABLE_KEYS;i++) Assert.assertEquals(i, map.get(i));
+	}
+	
+	protected static final int BULK_KEYS = 100000;
+	
+	protected static Int2IntConcurrentOpenHashMap createBulkMap()
+	{
+		Int2IntConcurrentOpenHashMap map = new Int2IntConcurrentOpenHashMap(16, 0.75F, 16);
+		for(int i = 0;i<BULK_KEYS;i++) map.put(i, i & 1023);
+		return map;
+	}
+	
+	protected static long expectedBulkSum()
+	{
+		long sum = 0;
+		for(int i = 0;i<BULK_KEYS;i++) sum += i & 1023;
+		return sum;
+	}
+	
+	protected static boolean isWorker()
+	{
+		return Thread.currentThread() instanceof ForkJoinWorkerThread;
+	}
+	
+	@Test
+	public void testForEachParallel()
+	{
+		Int2IntConcurrentOpenHashMap map = createBulkMap();
+		ForkJoinPool pool = new ForkJoinPool(4);
+		SanityChecks.setWorkPool(pool);
+		try {
+			for(int threshold : new int[]{BULK_KEYS + 1, 0}) {
+				AtomicInteger[] seen = new AtomicInteger[BULK_KEYS];
+				for(int i = 0;i<BULK_KEYS;i++) seen[i] = new AtomicInteger();
+				AtomicInteger workerCalls = new AtomicInteger();
+				map.forEachParallel(threshold, (K, V) -> {
+					Assert.assertEquals(K & 1023, V);
+					seen[K].incrementAndGet();
+					if(isWorker()) workerCalls.incrementAndGet();
+				});
+				for(int i = 0;i<BULK_KEYS;i++) Assert.assertEquals(1, seen[i].get());
+				Assert.assertEquals(threshold == 0 ? BULK_KEYS : 0, workerCalls.get());
+			}
+		}
+		finally {
+			SanityChecks.setWorkPool(null);
+			pool.shutdown();
+		}
+	}
+	
+	@Test
+	public void testReduceValuesParallel()
+	{
+		Int2IntConcurrentOpenHashMap map = createBulkMap();
+		ForkJoinPool pool = new ForkJoinPool(4);
+		SanityChecks.setWorkPool(pool);
+		try {
+			int expected = (int)expectedBulkSum();
+			Assert.assertEquals(expected, map.reduceValuesParallel(BULK_KEYS + 1, 0, (A, B) -> A + B));
+			Assert.assertEquals(expected, map.reduceValuesParallel(0, 0, (A, B) -> A + B));
+			Assert.assertEquals(1023, map.reduceValuesParallel(BULK_KEYS + 1, Integer.MIN_VALUE, Math::max));
+			Assert.assertEquals(1023, map.reduceValuesParallel(0, Integer.MIN_VALUE, Math::max));
+			Assert.assertEquals(0, new Int2IntConcurrentOpenHashMap().reduceValuesParallel(0, 0, (A, B) -> A + B));
+		}
+		finally {
+			SanityChecks.setWorkPool(null);
+			pool.shutdown();
+		}
+	}
+	
+	@Test
+	public void testSearchParallel()
+	{
+		Int2IntConcurrentOpenHashMap map = createBulkMap();
+		ForkJoinPool pool = new ForkJoinPool(4);
+		SanityChecks.setWorkPool(pool);
+		try {
+			for(int threshold : new int[]{BULK_KEYS + 1, 0}) {
+				Int2IntMap.Entry entry = map.searchParallel(threshold, E -> E.getIntKey() == 4242);
+				Assert.assertNotNull(entry);
+				Assert.assertEquals(4242, entry.getIntKey());
+				Assert.assertEquals(4242 & 1023, entry.getIntValue());
+				AtomicInteger tests = new AtomicInteger();
+				Assert.assertNull(map.searchParallel(threshold, E -> {
+					tests.incrementAndGet();
+					return E.getIntKey() < 0;
+				}));
+				Assert.assertEquals(BULK_KEYS, tests.get());
+			}
+		}
+		finally {
+			SanityChecks.setWorkPool(null);
+			pool.shutdown();
+		}
+	}
+	
+	@Test
+	public void testSearchParallelStopsEarly()
+	{
+		Int2IntConcurrentOpenHashMap map = createBulkMap();
+		ForkJoinPool pool = new ForkJoinPool(4);
+		SanityChecks.setWorkPool(pool);
+		try {
+			AtomicInteger tests = new AtomicInteger();
+			Assert.assertNotNull(map.searchParallel(BULK_KEYS + 1, E -> tests.incrementAndGet() > 0));
+			Assert.assertEquals(1, tests.get());
+			tests.set(0);
+			AtomicInteger workerTests = new AtomicInteger();
+			Assert.assertNotNull(map.searchParallel(0, E -> {
+				if(isWorker()) workerTests.incrementAndGet();
+				return tests.incrementAndGet() > 0;
+			}));
+			Assert.assertEquals(tests.get(), workerTests.get());
+			//Every task may test at most one entry before it sees the result
+			Assert.assertTrue("Tested "+tests.get()+" entries", tests.get() <= map.segments.length);
+		}
+		finally {
+			SanityChecks.setWorkPool(null);
+			pool.shutdown();
+		}
+	}
+	
+	@Test
+	public void testCountParallel()
+	{
+		Int2IntConcurrentOpenHashMap map = createBulkMap();
+		ForkJoinPool pool = new ForkJoinPool(4);
+		SanityChecks.setWorkPool(pool);
+		try {
+			int even = BULK_KEYS / 2;
+			int small = 0;
+			for(int i = 0;i<BULK_KEYS;i++) if((i & 1023) < 10) small++;
+			for(int threshold : new int[]{BULK_KEYS + 1, 0}) {
+				Assert.assertEquals(BULK_KEYS, map.countParallel(threshold, E -> true));
+				Assert.assertEquals(even, map.countParallel(threshold, E -> (E.getIntKey() & 1) == 0));
+				Assert.assertEquals(small, map.countParallel(threshold, E -> E.getIntValue() < 10));
+				Assert.assertEquals(0, map.countParallel(threshold, E -> E.getIntKey() < 0));
+			}
+			Assert.assertEquals(0, new Int2IntConcurrentOpenHashMap().countParallel(0, E -> true));
+		}
+		finally {
+			SanityChecks.setWorkPool(null);
+			pool.shutdown();
+		}
+	}
+	
+	protected static Int2IntConcurrentOpenHashMap createLoadingMap()
+	{
+		Int2IntConcurrentOpenHashMap map = new Int2IntConcurrentOpenHashMap(16, 0.75F, 1);
+		map.setComputeOutsideLock(true);
+		return map;
+	}
+	
+	protected static Thread startBlockedLoad(Int2IntConcurrentOpenHashMap map, int key, int value, CountDownLatch started, CountDownLatch release, AtomicInteger loads, AtomicInteger result)
+	{
+		Thread loader = new Thread(() -> result.set(map.computeIntIfAbsent(key, K -> {
+			loads.incrementAndGet();
+			started.countDown();
+			try { release.await(); }
+			catch(InterruptedException e) { Thread.currentThread().interrupt(); }
+			return value;
+		})));
+		loader.start();
+		return loader;
+	}
+	
+	@Test
+	public void testComputeOutsideLockLoadsOnce() throws InterruptedException
+	{
+		Int2IntConcurrentOpenHashMap map = createLoadingMap();
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		AtomicInteger loads = new AtomicInteger();
+		AtomicInteger result = new AtomicInteger();
+		Thread loader = startBlockedLoad(map, 1, 10, started, release, loads, result);
+		started.await();
+		Thread[] waiters = new Thread[4];
+		AtomicInteger[] results = new AtomicInteger[waiters.length];
+		for(int i = 0;i<waiters.length;i++) {
+			AtomicInteger waiterResult = results[i] = new AtomicInteger();
+			waiters[i] = new Thread(() -> waiterResult.set(map.computeIntIfAbsent(1, K -> {
+				loads.incrementAndGet();
+				return 20;
+			})));
+			waiters[i].start();
+		}
+		//The segment lock is free while the function runs, so other keys of the same segment are not blocked
+		map.put(2, 2);
+		Assert.assertEquals(3, map.computeIntIfAbsent(3, K -> 3));
+		Assert.assertEquals(4, map.supplyIntIfAbsent(4, () -> 4));
+		Assert.assertEquals(2, map.get(2));
+		Assert.assertFalse(map.containsKey(1));
+		Thread.sleep(50L);
+		for(Thread waiter : waiters) Assert.assertTrue(waiter.isAlive());
+		release.countDown();
+		loader.join();
+		for(Thread waiter : waiters) waiter.join();
+		Assert.assertEquals(1, loads.get());
+		Assert.assertEquals(10, result.get());
+		for(AtomicInteger waiterResult : results) Assert.assertEquals(10, waiterResult.get());
+		Assert.assertEquals(10, map.get(1));
+		Assert.assertNull(map.segments[0].reservations);
+	}
+	
+	@Test
+	public void testRecursiveComputeOutsideLock()
+	{
+		Int2IntConcurrentOpenHashMap map = createLoadingMap();
+		try {
+			map.computeIntIfAbsent(1, K -> map.computeIntIfAbsent(1, T -> 2));
+			Assert.fail("Recursive compute should have failed");
+		}
+		catch(IllegalStateException expected) {
+		}
+		Assert.assertFalse(map.containsKey(1));
+		Assert.assertNull(map.segments[0].reservations);
+		Assert.assertEquals(5, map.computeIntIfAbsent(1, K -> map.computeIntIfAbsent(2, T -> 4) + 1));
+		Assert.assertEquals(4, map.get(2));
+	}
+	
+	@Test
+	public void testLoaderExceptionReleasesReservation() throws InterruptedException
+	{
+		Int2IntConcurrentOpenHashMap map = createLoadingMap();
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		AtomicReference<Throwable> failure = new AtomicReference<>();
+		Thread loader = new Thread(() -> {
+			try {
+				map.computeIntIfAbsent(1, K -> {
+					started.countDown();
+					try { release.await(); }
+					catch(InterruptedException e) { Thread.currentThread().interrupt(); }
+					throw new IllegalArgumentException("Load failed");
+				});
+			}
+			catch(Throwable e) {
+				failure.set(e);
+			}
+		});
+		loader.start();
+		started.await();
+		AtomicInteger result = new AtomicInteger();
+		Thread waiter = new Thread(() -> result.set(map.computeIntIfAbsent(1, K -> 20)));
+		waiter.start();
+		release.countDown();
+		loader.join();
+		waiter.join();
+		Assert.assertTrue(failure.get() instanceof IllegalArgumentException);
+		Assert.assertEquals(20, result.get());
+		Assert.assertEquals(20, map.get(1));
+		Assert.assertNull(map.segments[0].reservations);
+		try {
+			map.computeIntIfAbsent(2, K -> {
+				throw new IllegalArgumentException("Load failed");
+			});
+			Assert.fail("Loader exception should have been rethrown");
+		}
+		catch(IllegalArgumentException expected) {
+		}
+		Assert.assertNull(map.segments[0].reservations);
+		Assert.assertEquals(30, map.computeIntIfAbsent(2, K -> 30));
+	}
+	
+	@Test
+	public void testPutDuringLoadWins() throws InterruptedException
+	{
+		Int2IntConcurrentOpenHashMap map = createLoadingMap();
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		AtomicInteger loads = new AtomicInteger();
+		AtomicInteger result = new AtomicInteger();
+		Thread loader = startBlockedLoad(map, 1, 10, started, release, loads, result);
+		started.await();
+		Assert.assertEquals(0, map.put(1, 7));
+		release.countDown();
+		loader.join();
+		Assert.assertEquals(1, loads.get());
+		Assert.assertEquals(7, result.get());
+		Assert.assertEquals(7, map.get(1));
+		Assert.assertEquals(1, map.size());
+		Assert.assertNull(map.segments[0].reservations);
+	}
+	
+	protected static Int2IntConcurrentOpenHashMap createWeakMap()
+	{
+		Int2IntConcurrentOpenHashMap map = new Int2IntConcurrentOpenHashMap(16, 0.75F, 4);
+		for(int i = 0;i<64;i++) map.put(i, i);
+		map.setWeaklyConsistentIteration(true);
+		return map;
+	}
+	
+	@Test
+	public void testWeakEntryIteratorWritesThrough()
+	{
+		for(boolean fast : new boolean[]{false, true}) {
+			Int2IntConcurrentOpenHashMap map = createWeakMap();
+			Int2IntMap.FastEntrySet entries = (Int2IntMap.FastEntrySet)map.int2IntEntrySet();
+			ObjectIterator<Int2IntMap.Entry> iter = fast ? entries.fastIterator() : entries.iterator();
+			int visited = 0;
+			while(iter.hasNext()) {
+				Int2IntMap.Entry entry = iter.next();
+				int key = entry.getIntKey();
+				if((key & 1) == 0) iter.remove();
+				else {
+					Assert.assertEquals(key, entry.setValue(key * 10));
+					Assert.assertEquals(key * 10, entry.getIntValue());
+				}
+				visited++;
+			}
+			Assert.assertEquals(64, visited);
+			Assert.assertEquals(32, map.size());
+			for(int i = 0;i<64;i++) {
+				if((i & 1) == 0) Assert.assertFalse(map.containsKey(i));
+				else Assert.assertEquals(i * 10, map.get(i));
+			}
+		}
+	}
+	
+	@Test
+	public void testWeakIteratorsRemoveBackwards()
+	{
+		Int2IntConcurrentOpenHashMap map = createWeakMap();
+		ObjectBidirectionalIterator<Int2IntMap.Entry> iter = (ObjectBidirectionalIterator<Int2IntMap.Entry>)map.int2IntEntrySet().iterator();
+		while(iter.hasNext()) iter.next();
+		int visited = 0;
+		while(iter.hasPrevious()) {
+			Int2IntMap.Entry entry = iter.previous();
+			if(entry.getIntKey() < 32) iter.remove();
+			else entry.setValue(-entry.getIntKey());
+			visited++;
+		}
+		Assert.assertEquals(64, visited);
+		Assert.assertEquals(32, map.size());
+		for(int i = 0;i<64;i++) {
+			if(i < 32) Assert.assertFalse(map.containsKey(i));
+			else Assert.assertEquals(-i, map.get(i));
+		}
+	}
+	
+	@Test
+	public void testWeakKeyAndValueIteratorsRemove()
+	{
+		Int2IntConcurrentOpenHashMap map = createWeakMap();
+		for(IntIterator iter = map.keySet().iterator();iter.hasNext();) {
+			if(iter.nextInt() % 3 == 0) iter.remove();
+		}
+		for(IntIterator iter = map.values().iterator();iter.hasNext();) {
+			if(iter.nextInt() % 3 == 1) iter.remove();
+		}
+		for(int i = 0;i<64;i++) {
+			if(i % 3 == 2) Assert.assertEquals(i, map.get(i));
+			else Assert.assertFalse(map.containsKey(i));
+		}
+		Assert.assertEquals(21, map.size());
+		IntIterator iter = map.keySet().iterator();
+		try {
+			iter.remove();
+			Assert.fail("Remove without next should have failed");
+		}
+		catch(IllegalStateException expected) {
+		}
+		iter.nextInt();
+		iter.remove();
+		try {
+			iter.remove();
+			Assert.fail("Removing twice should have failed");
+		}
+		catch(IllegalStateException expected) {
+		}
+		Assert.assertEquals(20, map.size());
+	}
+	
+	@Test
+	public void testWeakIteratorsWithoutHasNext()
+	{
+		Int2IntConcurrentOpenHashMap map = createWeakMap();
+		IntIterator keys = map.keySet().iterator();
+		IntIterator values = map.values().iterator();
+		long keySum = 0;
+		long valueSum = 0;
+		for(int i = 0;i<64;i++) {
+			keySum += keys.nextInt();
+			valueSum += values.nextInt();
+		}
+		Assert.assertEquals(63 * 32, keySum);
+		Assert.assertEquals(63 * 32, valueSum);
+		Assert.assertFalse(keys.hasNext());
+		Assert.assertFalse(values.hasNext());
+	}
+	
+	@Test
+	public void testOptimisticReadsDuringGrowth() throws InterruptedException
+	{
+		Int2IntConcurrentOpenHashMap map = new Int2IntConcurrentOpenHashMap(16, 0.9F, 1);
+		int stable = 1024;
+		for(int i = 0;i<stable;i++) map.put(i, i + 1);
+		AtomicBoolean running = new AtomicBoolean(true);
+		AtomicReference<Throwable> failure = new AtomicReference<>();
+		Thread[] readers = new Thread[4];
+		for(int t = 0;t<readers.length;t++) {
+			readers[t] = new Thread(() -> {
+				try {
+					while(running.get()) {
+						for(int i = 0;i<stable;i++) {
+							if(map.get(i) != i + 1) throw new AssertionError("Missed key "+i+" in get");
+							if(map.getOrDefault(i, -1) != i + 1) throw new AssertionError("Missed key "+i+" in getOrDefault");
+							if(!map.containsKey(i)) throw new AssertionError("Missed key "+i+" in containsKey");
+						}
+					}
+				}
+				catch(Throwable e) {
+					failure.compareAndSet(null, e);
+				}
+			});
+			readers[t].start();
+		}
+		try {
+			//Every round grows the segment through several rehashes, removes the keys again which shifts the probe chains of the stable keys and shrinks it
+			for(int round = 0;round<1000 && failure.get() == null;round++) {
+				for(int i = stable;i<stable * 8;i++) map.put(i, i);
+				for(int i = stable;i<stable * 8;i++) map.remove(i);
+				map.trim();
+			}
+		}
+		finally {
+			running.set(false);
+			for(Thread reader : readers) reader.join();
+		}
+		Assert.assertNull(failure.get());
+		Assert.assertEquals(stable, map.size());
+	}
+	
+	protected static void assertSeenOnce(int[] seen)
+	{
+		for(int i = 0;i<seen.length;i++) {
+			if(seen[i] != 1) Assert.fail("Key "+i+" was visited "+seen[i]+" times");
+		}
+	}
+}
@@ -0,0 +1,113 @@
+package speiger.src.collections.ints.maps.impl.concurrent;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import speiger.src.collections.ints.base.BaseInt2IntMapTest;
+import speiger.src.collections.ints.maps.interfaces.Int2IntMap;
+
+@SuppressWarnings("javadoc")
+public class Int2IntConcurrentTinyLFUMapTest extends BaseInt2IntMapTest
+{
+	@Override
+	public Int2IntMap createMap(int[] keys, int[] values)
+	{
+		return new Int2IntConcurrentTinyLFUMap(keys, values, Integer.MAX_VALUE);
+	}
+	
+	@Override
+	public Int2IntMap createEmptyMap()
+	{
+		return new Int2IntConcurrentTinyLFUMap(Integer.MAX_VALUE);
+	}
+	
+	@Test
+	public void testScanResistance()
+	{
+		AtomicInteger evictions = new AtomicInteger();
+		Int2IntConcurrentTinyLFUMap map = new Int2IntConcurrentTinyLFUMap(100, 1, (K, V) -> {
+			Assert.assertEquals(K * 2, V);
+			evictions.incrementAndGet();
+		});
+		for(int i = 0;i<10;i++) map.put(i, i * 2);
+		//The hot keys are read once every 200 inserts, a plain LRU of the same size would have evicted them by then
+		for(int i = 0;i<20000;i++) {
+			if(i % 200 == 0) {
+				for(int j = 0;j<10;j++) Assert.assertEquals("Hot key "+j+" was evicted", j * 2, map.get(j));
+			}
+			map.put(1000 + i, (1000 + i) * 2);
+			Assert.assertTrue(map.size() <= 100);
+		}
+		for(int i = 0;i<10;i++) Assert.assertEquals("Hot key "+i+" was evicted", i * 2, map.get(i));
+		int scanned = 0;
+		for(int i = 1000;i<21000;i++) {
+			if(map.containsKey(i)) scanned++;
+		}
+		Assert.assertEquals(90, scanned);
+		Assert.assertEquals(100, map.size());
+		Assert.assertEquals(20010 - 100, evictions.get());
+	}
+	
+	@Test
+	public void testSketchKeepsFrequenciesWhenGrowing()
+	{
+		Int2IntConcurrentTinyLFUMap.FrequencySketch sketch = new Int2IntConcurrentTinyLFUMap.FrequencySketch(16);
+		for(int i = 0;i<64;i++) {
+			for(int j = 0;j<=(i & 7);j++) sketch.increment(i * 0x9E3779B9);
+		}
+		int[] before = new int[64];
+		for(int i = 0;i<64;i++) before[i] = sketch.frequency(i * 0x9E3779B9);
+		sketch.ensureCapacity(4096);
+		for(int i = 0;i<64;i++) Assert.assertEquals(before[i], sketch.frequency(i * 0x9E3779B9));
+	}
+	
+	@Test
+	public void testSizeBound()
+	{
+		AtomicInteger evictions = new AtomicInteger();
+		Int2IntConcurrentTinyLFUMap map = new Int2IntConcurrentTinyLFUMap(1000, 8, (K, V) -> evictions.incrementAndGet());
+		int limit = 0;
+		for(int i = 0;i<map.segments.length;i++) limit += map.segments[i].maxSize;
+		Assert.assertEquals(1000, limit);
+		for(int i = 0;i<50000;i++) {
+			map.put(i, i);
+			Assert.assertTrue(map.size() <= 1000);
+		}
+		Assert.assertEquals(50000 - map.size(), evictions.get());
+		for(int i = 0;i<map.segments.length;i++) Assert.assertTrue(map.segments[i].size <= map.segments[i].maxSize);
+		map.clear();
+		Assert.assertEquals(0, map.size());
+	}
+	
+	@Test
+	public void testConcurrentSizeBound() throws InterruptedException
+	{
+		AtomicInteger evictions = new AtomicInteger();
+		Int2IntConcurrentTinyLFUMap map = new Int2IntConcurrentTinyLFUMap(512, 4, (K, V) -> evictions.incrementAndGet());
+		AtomicReference<Throwable> failure = new AtomicReference<>();
+		Thread[] workers = new Thread[4];
+		for(int t = 0;t<workers.length;t++) {
+			int offset = t * 100000;
+			workers[t] = new Thread(() -> {
+				try {
+					for(int i = 0;i<20000;i++) {
+						map.put(offset + i, i);
+						map.get(offset + (i >> 1));
+					}
+				}
+				catch(Throwable e) {
+					failure.compareAndSet(null, e);
+				}
+			});
+			workers[t].start();
+		}
+		for(Thread worker : workers) worker.join();
+		Assert.assertNull(failure.get());
+		Assert.assertTrue(map.size() <= 512);
+		for(int i = 0;i<map.segments.length;i++) Assert.assertTrue(map.segments[i].size <= map.segments[i].maxSize);
+		Assert.assertEquals(80000 - map.size(), evictions.get());
+	}
+}
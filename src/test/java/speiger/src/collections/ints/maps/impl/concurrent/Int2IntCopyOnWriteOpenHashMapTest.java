@@ -0,0 +1,161 @@
+package speiger.src.collections.ints.maps.impl.concurrent;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import speiger.src.collections.ints.base.BaseInt2IntMapTest;
+import speiger.src.collections.ints.maps.impl.hash.Int2IntOpenHashMap;
+import speiger.src.collections.ints.maps.interfaces.Int2IntMap;
+import speiger.src.collections.ints.sets.IntOpenHashSet;
+import speiger.src.collections.ints.sets.IntSet;
+import speiger.src.collections.objects.collections.ObjectIterator;
+
+@SuppressWarnings("javadoc")
+public class Int2IntCopyOnWriteOpenHashMapTest extends BaseInt2IntMapTest
+{
+	@Override
+	public Int2IntMap createMap(int[] keys, int[] values)
+	{
+		return new Int2IntCopyOnWriteOpenHashMap(keys, values);
+	}
+	
+	@Override
+	public Int2IntMap createEmptyMap()
+	{
+		return new Int2IntCopyOnWriteOpenHashMap();
+	}
+	
+	protected static Int2IntCopyOnWriteOpenHashMap createRange(int size)
+	{
+		Int2IntCopyOnWriteOpenHashMap map = new Int2IntCopyOnWriteOpenHashMap();
+		map.mutate(M -> {
+			for(int i = 0;i<size;i++) M.put(i, i);
+		});
+		return map;
+	}
+	
+	@Test
+	public void testMutatePublishesOnce()
+	{
+		Int2IntCopyOnWriteOpenHashMap map = createRange(100);
+		Int2IntOpenHashMap before = map.map;
+		map.mutate(M -> {
+			for(int i = 0;i<50;i++) {
+				M.put(i, -i);
+				M.remove(i + 50);
+				//Nothing of the batch is visible until the action returned
+				Assert.assertSame(before, map.map);
+				Assert.assertEquals(i, map.get(i));
+				Assert.assertEquals(i + 50, map.get(i + 50));
+			}
+			M.put(500, 1);
+			Assert.assertFalse(map.containsKey(500));
+		});
+		Assert.assertNotSame(before, map.map);
+		Assert.assertEquals(51, map.size());
+		for(int i = 0;i<50;i++) Assert.assertEquals(-i, map.get(i));
+		Assert.assertEquals(1, map.get(500));
+		//The table that was published before is never edited
+		Assert.assertEquals(100, before.size());
+		for(int i = 0;i<100;i++) Assert.assertEquals(i, before.get(i));
+	}
+	
+	@Test
+	public void testConcurrentReadersSeeWholeBatches() throws InterruptedException
+	{
+		Int2IntCopyOnWriteOpenHashMap map = createRange(256);
+		AtomicBoolean running = new AtomicBoolean(true);
+		AtomicReference<Throwable> failure = new AtomicReference<>();
+		Thread[] readers = new Thread[4];
+		for(int t = 0;t<readers.length;t++) {
+			readers[t] = new Thread(() -> {
+				try {
+					while(running.get()) {
+						int[] seen = new int[]{-1, 0};
+						map.forEach((K, V) -> {
+							if(seen[0] == -1) seen[0] = V - K;
+							Assert.assertEquals(seen[0], V - K);
+							seen[1]++;
+						});
+						Assert.assertEquals(256, seen[1]);
+					}
+				}
+				catch(Throwable e) {
+					failure.compareAndSet(null, e);
+				}
+			});
+			readers[t].start();
+		}
+		try {
+			for(int batch = 1;batch<=2000;batch++) {
+				int offset = batch;
+				map.mutate(M -> {
+					for(int i = 0;i<256;i++) M.put(i, i + offset);
+				});
+			}
+		}
+		finally {
+			running.set(false);
+			for(Thread reader : readers) reader.join();
+		}
+		Assert.assertNull(failure.get());
+		for(int i = 0;i<256;i++) Assert.assertEquals(i + 2000, map.get(i));
+	}
+	
+	@Test
+	public void testThrowingMutatePublishesNothing()
+	{
+		Int2IntCopyOnWriteOpenHashMap map = createRange(100);
+		Int2IntOpenHashMap before = map.map;
+		try {
+			map.mutate(M -> {
+				for(int i = 0;i<100;i+=2) M.remove(i);
+				M.put(500, 5);
+				M.clear();
+				throw new IllegalStateException("Abort");
+			});
+			Assert.fail("The exception of the action should be passed on");
+		}
+		catch(IllegalStateException expected) {}
+		Assert.assertSame(before, map.map);
+		Assert.assertEquals(100, map.size());
+		for(int i = 0;i<100;i++) Assert.assertEquals(i, map.get(i));
+		Assert.assertFalse(map.containsKey(500));
+		//The lock got released, so later writes still work
+		map.mutate(M -> M.put(500, 5));
+		Assert.assertEquals(5, map.get(500));
+		Assert.assertEquals(101, map.size());
+	}
+	
+	@Test
+	public void testIteratorUnaffectedByLaterWrites()
+	{
+		Int2IntCopyOnWriteOpenHashMap map = createRange(1000);
+		ObjectIterator<Int2IntMap.Entry> iter = map.int2IntEntrySet().iterator();
+		IntSet seen = new IntOpenHashSet();
+		for(int i = 0;i<500;i++) {
+			Int2IntMap.Entry entry = iter.next();
+			Assert.assertEquals(entry.getIntKey(), entry.getIntValue());
+			Assert.assertTrue(seen.add(entry.getIntKey()));
+		}
+		map.mutate(M -> {
+			for(int i = 0;i<1000;i+=2) M.remove(i);
+			for(int i = 1;i<1000;i+=2) M.put(i, -i);
+			for(int i = 1000;i<2000;i++) M.put(i, i);
+		});
+		map.put(5000, 1);
+		map.remove(1);
+		while(iter.hasNext()) {
+			Int2IntMap.Entry entry = iter.next();
+			Assert.assertEquals(entry.getIntKey(), entry.getIntValue());
+			Assert.assertTrue(seen.add(entry.getIntKey()));
+		}
+		Assert.assertEquals(1000, seen.size());
+		for(int i = 0;i<1000;i++) Assert.assertTrue(seen.contains(i));
+		map.clear();
+		Assert.assertTrue(map.isEmpty());
+	}
+}
\ No newline at end of file
@@ -0,0 +1,171 @@
+package speiger.src.collections.ints.maps.impl.concurrent;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import speiger.src.collections.ints.base.BaseInt2IntMapTest;
+import speiger.src.collections.ints.maps.interfaces.Int2IntMap;
+import speiger.src.collections.ints.sets.IntOpenHashSet;
+import speiger.src.collections.ints.sets.IntSet;
+
+@SuppressWarnings("javadoc")
+public class Int2IntNonBlockingOpenHashMapTest extends BaseInt2IntMapTest
+{
+	@Override
+	public Int2IntMap createMap(int[] keys, int[] values)
+	{
+		return new Int2IntNonBlockingOpenHashMap(keys, values);
+	}
+	
+	@Override
+	public Int2IntMap createEmptyMap()
+	{
+		return new Int2IntNonBlockingOpenHashMap();
+	}
+	
+	@Test
+	public void testWriterDoesNotWaitForOtherStrides() throws InterruptedException
+	{
+		Int2IntNonBlockingOpenHashMap map = new Int2IntNonBlockingOpenHashMap(16);
+		for(int i = 0;i<4;i++) map.put(i, i);
+		Int2IntNonBlockingOpenHashMap.Table current = map.table.get();
+		Int2IntNonBlockingOpenHashMap.Table next = new Int2IntNonBlockingOpenHashMap.Table((current.mask + 1) * 2, 0.75F);
+		//Simulates a transfer where every stride is claimed by a thread that didn't finish yet
+		current.transferIndex.set(current.mask + 1);
+		current.next.set(next);
+		Thread writer = new Thread(() -> {
+			map.put(100, 100);
+			map.addTo(101, 5);
+		});
+		writer.start();
+		writer.join(5000L);
+		Assert.assertFalse(writer.isAlive());
+		Assert.assertSame(current, map.table.get());
+		Assert.assertEquals(100, map.get(100));
+		Assert.assertEquals(5, map.get(101));
+		Assert.assertTrue(map.containsKey(101));
+		Assert.assertEquals(2, map.get(2));
+		Assert.assertEquals(6, map.size());
+	}
+	
+	@Test
+	public void testComputeDoesNotBlockOtherThreads() throws InterruptedException
+	{
+		Int2IntNonBlockingOpenHashMap map = new Int2IntNonBlockingOpenHashMap(16);
+		map.put(1, 1);
+		CountDownLatch entered = new CountDownLatch(1);
+		CountDownLatch resume = new CountDownLatch(1);
+		AtomicInteger calls = new AtomicInteger();
+		AtomicReference<Throwable> failure = new AtomicReference<>();
+		Thread computer = new Thread(() -> {
+			try {
+				map.computeIntIfPresent(1, (K, V) -> {
+					if(calls.getAndIncrement() == 0) {
+						entered.countDown();
+						try {
+							resume.await();
+						}
+						catch(InterruptedException e) {
+							throw new IllegalStateException(e);
+						}
+					}
+					return V + 1;
+				});
+			}
+			catch(Throwable e) {
+				failure.set(e);
+			}
+		});
+		computer.start();
+		Assert.assertTrue(entered.await(5L, TimeUnit.SECONDS));
+		//The key of the running function can still be read and written, and the map can grow
+		Assert.assertEquals(1, map.get(1));
+		Assert.assertTrue(map.containsKey(1));
+		Assert.assertEquals(1, map.put(1, 10));
+		for(int i = 2;i<1000;i++) map.put(i, i);
+		resume.countDown();
+		computer.join(5000L);
+		Assert.assertFalse(computer.isAlive());
+		Assert.assertNull(failure.get());
+		//The first result was based on a stale value, so the function got applied again
+		Assert.assertEquals(2, calls.get());
+		Assert.assertEquals(11, map.get(1));
+		Assert.assertEquals(999, map.size());
+	}
+	
+	@Test
+	public void testConcurrentMerge() throws InterruptedException
+	{
+		Int2IntNonBlockingOpenHashMap map = new Int2IntNonBlockingOpenHashMap(4);
+		int threads = 8;
+		int perThread = 16384;
+		AtomicReference<Throwable> failure = new AtomicReference<>();
+		Thread[] workers = new Thread[threads];
+		for(int t = 0;t<threads;t++) {
+			int offset = t * perThread;
+			workers[t] = new Thread(() -> {
+				try {
+					for(int i = 0;i<perThread;i++) {
+						map.mergeInt(-1 - (i & 63), 1, Integer::sum);
+						map.computeInt(offset + i, (K, V) -> V + K);
+						if((i & 3) == 0) map.computeIntIfPresent(offset + i, (K, V) -> 0);
+					}
+				}
+				catch(Throwable e) {
+					failure.set(e);
+				}
+			});
+			workers[t].start();
+		}
+		for(Thread worker : workers) worker.join();
+		Assert.assertNull(failure.get());
+		for(int i = 0;i<64;i++) Assert.assertEquals(threads * perThread / 64, map.get(-1 - i));
+		for(int i = 0;i<threads * perThread;i++) {
+			if((i % perThread & 3) == 0) Assert.assertEquals(0, map.get(i));
+			else Assert.assertEquals(i, map.get(i));
+		}
+	}
+	
+	@Test
+	public void testConcurrentResize() throws InterruptedException
+	{
+		Int2IntNonBlockingOpenHashMap map = new Int2IntNonBlockingOpenHashMap(4);
+		int threads = 8;
+		int perThread = 16384;
+		AtomicReference<Throwable> failure = new AtomicReference<>();
+		Thread[] workers = new Thread[threads];
+		for(int t = 0;t<threads;t++) {
+			int offset = t * perThread;
+			workers[t] = new Thread(() -> {
+				try {
+					for(int i = 0;i<perThread;i++) {
+						map.put(offset + i, offset + i);
+						map.addTo(-1 - (i & 63), 1);
+						if((i & 3) == 0) map.remove(offset + i);
+					}
+				}
+				catch(Throwable e) {
+					failure.set(e);
+				}
+			});
+			workers[t].start();
+		}
+		for(Thread worker : workers) worker.join();
+		Assert.assertNull(failure.get());
+		int expected = threads * perThread - (threads * perThread / 4);
+		Assert.assertEquals(expected + 64, map.size());
+		for(int i = 0;i<threads * perThread;i++) {
+			if((i % perThread & 3) == 0) Assert.assertFalse(map.containsKey(i));
+			else Assert.assertEquals(i, map.get(i));
+		}
+		for(int i = 0;i<64;i++) Assert.assertEquals(threads * perThread / 64, map.get(-1 - i));
+		IntSet seen = new IntOpenHashSet();
+		map.forEach((K, V) -> Assert.assertTrue("Duplicate key "+K, seen.add(K)));
+		Assert.assertEquals(map.size(), seen.size());
+	}
+}
@@ -0,0 +1,82 @@
+package speiger.src.collections.ints.sets;
+
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+@SuppressWarnings("javadoc")
+public class IntConcurrentOpenHashSetTests
+{
+	protected static void assertSet(IntSet expected, IntConcurrentOpenHashSet set)
+	{
+		Assert.assertEquals(expected.size(), set.size());
+		for(int value : expected.toIntArray()) Assert.assertTrue(set.contains(value));
+		for(int value : set.toIntArray()) Assert.assertTrue(expected.contains(value));
+	}
+	
+	@Test
+	public void testBulkAddAll()
+	{
+		Random random = new Random(3);
+		//A small capacity so the bulk insert has to grow the segments
+		IntConcurrentOpenHashSet set = new IntConcurrentOpenHashSet(4, 0.75F, 8);
+		IntSet expected = new IntOpenHashSet();
+		int[] values = new int[5000];
+		//Duplicates within the array and the zero key, which lives in its own null slot
+		for(int i = 0;i<values.length;i++) values[i] = random.nextInt(3000) - 1000;
+		values[17] = 0;
+		values[4000] = 0;
+		Assert.assertTrue(set.addAll(values, 100, 2000));
+		for(int i = 100;i<2100;i++) expected.add(values[i]);
+		assertSet(expected, set);
+		//Only elements that are already present do not modify the set
+		Assert.assertFalse(set.addAll(values, 100, 2000));
+		Assert.assertFalse(set.addAll(values, 500, 0));
+		assertSet(expected, set);
+		//A overlapping range only adds the missing part
+		Assert.assertTrue(set.addAll(values));
+		for(int value : values) expected.add(value);
+		assertSet(expected, set);
+		Assert.assertTrue(set.contains(0));
+		Assert.assertFalse(set.addAll(new int[]{0, 0, values[0]}));
+		Assert.assertTrue(set.addAll(new int[]{5000, 5000, 5001}));
+		Assert.assertEquals(expected.size() + 2, set.size());
+		try {
+			set.addAll(values, 4000, 1001);
+			Assert.fail("A range outside of the array should fail");
+		}
+		catch(IndexOutOfBoundsException expectedFailure) {}
+	}
+	
+	@Test
+	public void testConcurrentBulkAddAll() throws InterruptedException
+	{
+		IntConcurrentOpenHashSet set = new IntConcurrentOpenHashSet(4, 0.75F, 8);
+		AtomicReference<Throwable> failure = new AtomicReference<>();
+		CountDownLatch start = new CountDownLatch(1);
+		Thread[] workers = new Thread[4];
+		for(int t = 0;t<workers.length;t++) {
+			//Every thread covers half of its neighbours range, so the same keys race into the same segments
+			int[] values = new int[20000];
+			for(int i = 0;i<values.length;i++) values[i] = t * 10000 + i;
+			workers[t] = new Thread(() -> {
+				try {
+					start.await();
+					for(int i = 0;i<values.length;i+=500) set.addAll(values, i, 500);
+				}
+				catch(Throwable e) {
+					failure.compareAndSet(null, e);
+				}
+			});
+			workers[t].start();
+		}
+		start.countDown();
+		for(Thread worker : workers) worker.join();
+		Assert.assertNull(failure.get());
+		Assert.assertEquals(50000, set.size());
+		for(int i = 0;i<50000;i++) Assert.assertTrue(set.contains(i));
+	}
+}
\ No newline at end of file
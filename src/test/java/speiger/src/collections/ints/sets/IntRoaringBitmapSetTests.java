@@ -0,0 +1,167 @@
+package speiger.src.collections.ints.sets;
+
+import java.util.Random;
+import java.util.function.BiConsumer;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import speiger.src.collections.ints.base.BaseIntNavigableSetTest;
+
+@SuppressWarnings("javadoc")
+public class IntRoaringBitmapSetTests extends BaseIntNavigableSetTest
+{
+	@Override
+	protected IntNavigableSet create(int[] data) {
+		return new IntRoaringBitmapSet(data);
+	}
+	
+	protected static void addRandom(IntRoaringBitmapSet set, IntNavigableSet reference, Random random, int base, int count) {
+		for(int i = 0;i<count;i++) {
+			int value = base + random.nextInt(65536);
+			Assert.assertEquals(reference.add(value), set.add(value));
+		}
+	}
+	
+	protected static void addRange(IntRoaringBitmapSet set, IntNavigableSet reference, int from, int to) {
+		for(long i = from;i<=to;i++) {
+			Assert.assertEquals(reference.add((int)i), set.add((int)i));
+		}
+	}
+	
+	protected static IntRoaringBitmapSet createFirst(IntNavigableSet reference) {
+		Random random = new Random(7);
+		IntRoaringBitmapSet set = new IntRoaringBitmapSet();
+		//Bitmap containers on both sides of the sign boundary
+		addRandom(set, reference, random, 0, 6000);
+		addRandom(set, reference, random, -65536, 5000);
+		//Ranges that cross the sign boundary and a chunk boundary
+		addRange(set, reference, -5000, 5000);
+		addRange(set, reference, 65536 - 3000, 65536 + 3000);
+		addRandom(set, reference, random, 65536 * 5, 200);
+		addRange(set, reference, Integer.MIN_VALUE, Integer.MIN_VALUE + 10000);
+		addRandom(set, reference, random, Integer.MAX_VALUE - 65535, 4097);
+		return set;
+	}
+	
+	protected static IntRoaringBitmapSet createSecond(IntNavigableSet reference) {
+		Random random = new Random(8);
+		IntRoaringBitmapSet set = new IntRoaringBitmapSet();
+		addRange(set, reference, -70000, 70000);
+		addRandom(set, reference, random, 0, 5000);
+		addRandom(set, reference, random, 65536 * 5, 5000);
+		addRange(set, reference, 65536 * 5 + 100, 65536 * 5 + 300);
+		addRandom(set, reference, random, Integer.MIN_VALUE, 300);
+		addRange(set, reference, Integer.MAX_VALUE - 20000, Integer.MAX_VALUE);
+		return set;
+	}
+	
+	protected static void assertSet(IntNavigableSet expected, IntRoaringBitmapSet set) {
+		Assert.assertEquals(expected.size(), set.size());
+		Assert.assertArrayEquals(expected.toIntArray(), set.toIntArray());
+		if(expected.isEmpty()) return;
+		Assert.assertEquals(expected.firstInt(), set.firstInt());
+		Assert.assertEquals(expected.lastInt(), set.lastInt());
+		Assert.assertEquals(expected.ceiling(-1), set.ceiling(-1));
+		Assert.assertEquals(expected.floor(65536), set.floor(65536));
+	}
+	
+	protected void testOperation(BiConsumer<IntRoaringBitmapSet, IntRoaringBitmapSet> operation, BiConsumer<IntNavigableSet, IntNavigableSet> expectedOperation) {
+		IntNavigableSet firstReference = new IntAVLTreeSet();
+		IntNavigableSet secondReference = new IntAVLTreeSet();
+		IntRoaringBitmapSet first = createFirst(firstReference);
+		IntRoaringBitmapSet second = createSecond(secondReference);
+		IntNavigableSet expected = new IntAVLTreeSet(firstReference);
+		expectedOperation.accept(expected, secondReference);
+		//Every combination of plain and run optimized containers on both sides
+		for(int optimize = 0;optimize<4;optimize++) {
+			IntRoaringBitmapSet left = first.copy();
+			IntRoaringBitmapSet right = second.copy();
+			if((optimize & 1) != 0) Assert.assertTrue(left.runOptimize());
+			if((optimize & 2) != 0) Assert.assertTrue(right.runOptimize());
+			assertSet(firstReference, left);
+			assertSet(secondReference, right);
+			operation.accept(left, right);
+			assertSet(expected, left);
+			assertSet(secondReference, right);
+			left.runOptimize();
+			assertSet(expected, left);
+			//The result must not share containers with the other set
+			for(int value : new int[]{0, -1, 65536, Integer.MIN_VALUE, Integer.MAX_VALUE, 65536 * 5 + 200}) {
+				left.add(value);
+				left.remove(value + 1);
+			}
+			assertSet(secondReference, right);
+		}
+	}
+	
+	@Test
+	public void testAnd() {
+		testOperation(IntRoaringBitmapSet::and, (K, V) -> K.retainAll(V));
+	}
+	
+	@Test
+	public void testOr() {
+		testOperation(IntRoaringBitmapSet::or, (K, V) -> K.addAll(V));
+	}
+	
+	@Test
+	public void testAndNot() {
+		testOperation(IntRoaringBitmapSet::andNot, (K, V) -> K.removeAll(V));
+	}
+	
+	@Test
+	public void testXor() {
+		testOperation(IntRoaringBitmapSet::xor, (K, V) -> {
+			IntNavigableSet shared = new IntAVLTreeSet(K);
+			shared.retainAll(V);
+			K.addAll(V);
+			K.removeAll(shared);
+		});
+	}
+	
+	@Test
+	public void testOperationsWithEqualSet() {
+		IntNavigableSet reference = new IntAVLTreeSet();
+		IntRoaringBitmapSet set = createFirst(reference);
+		IntRoaringBitmapSet optimized = set.copy();
+		optimized.runOptimize();
+		IntRoaringBitmapSet result = set.copy();
+		result.and(optimized);
+		assertSet(reference, result);
+		result.or(optimized);
+		assertSet(reference, result);
+		result.xor(optimized);
+		assertSet(new IntAVLTreeSet(), result);
+		result = optimized.copy();
+		result.andNot(set);
+		assertSet(new IntAVLTreeSet(), result);
+		result = optimized.copy();
+		result.xor(result);
+		assertSet(new IntAVLTreeSet(), result);
+	}
+	
+	@Test
+	public void testRunOptimize() {
+		IntNavigableSet reference = new IntAVLTreeSet();
+		IntRoaringBitmapSet set = new IntRoaringBitmapSet();
+		addRange(set, reference, -100000, 100000);
+		addRange(set, reference, 65536 * 3 + 10, 65536 * 3 + 20);
+		Assert.assertTrue(set.runOptimize());
+		Assert.assertFalse(set.runOptimize());
+		assertSet(reference, set);
+		//Breaking the runs up turns the containers back into bitmaps, filling them again allows runs again
+		Random random = new Random(9);
+		for(int i = 0;i<20000;i++) {
+			int value = random.nextInt(200001) - 100000;
+			Assert.assertEquals(reference.remove(value), set.remove(value));
+		}
+		assertSet(reference, set);
+		set.runOptimize();
+		assertSet(reference, set);
+		addRange(set, reference, -100000, 100000);
+		assertSet(reference, set);
+		Assert.assertTrue(set.runOptimize());
+		assertSet(reference, set);
+	}
+}
\ No newline at end of file